@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Temps jusqu'au premier GET /api/posts réussi : démarrage par défaut vs démarrage optimisé.
+#
+# Prérequis : base docker-compose démarrée, puis
+#   mvn -Pfast-startup package -DskipTests
+# (jar AOT dans target/, jar extrait et archive AppCDS dans target/cds/).
+#
+# Usage : scripts/startup-benchmark.sh [lancements par mode, défaut 5]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}"
+JAR="$(ls target/socialapp-*.jar | grep -v '\.original$' | head -n 1)"
+CDS_JAR="target/cds/$(basename "$JAR")"
+CDS_ARCHIVE="target/cds/application.jsa"
+USERNAME="startup-bench"
+PASSWORD="startup-bench"
+
+for f in "$JAR" "$CDS_JAR" "$CDS_ARCHIVE"; do
+    [[ -f "$f" ]] || { echo "Fichier manquant : $f (lancer mvn -Pfast-startup package)" >&2; exit 1; }
+done
+
+now_ms() { date +%s%3N; }
+
+# Démarre l'application avec les arguments donnés et affiche le temps (ms) jusqu'au premier
+# GET /api/posts en 200. Le processus est arrêté ensuite.
+measure() {
+    local start pid status
+    start=$(now_ms)
+    java -Dserver.port="$PORT" "$@" > /dev/null 2>&1 &
+    pid=$!
+    while true; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer ${TOKEN:-none}" \
+            "${URL}/api/posts?page=0&size=10" || true)
+        if [[ "$status" == "200" ]]; then
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "L'application s'est arrêtée avant de répondre" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+# Lancement préalable : crée l'utilisateur et récupère un jeton valable pour toutes les mesures
+java -Dserver.port="$PORT" -jar "$JAR" > /dev/null 2>&1 &
+WARMUP_PID=$!
+until curl -s -o /dev/null "${URL}/actuator/health"; do sleep 0.2; done
+curl -s -o /dev/null -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" "${URL}/api/auth/register"
+TOKEN=$(curl -s -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" "${URL}/api/auth/login" \
+    | sed -E 's/.*"token":"([^"]+)".*/\1/')
+kill "$WARMUP_PID"
+wait "$WARMUP_PID" 2> /dev/null || true
+
+run_mode() {
+    local label="$1"
+    shift
+    local total=0 best=0 ms
+    for ((i = 1; i <= RUNS; i++)); do
+        ms=$(measure "$@")
+        total=$(( total + ms ))
+        if (( best == 0 || ms < best )); then best=$ms; fi
+        echo "  ${label} #${i} : ${ms} ms"
+    done
+    echo "${label} : moyenne $(( total / RUNS )) ms, meilleur ${best} ms"
+}
+
+run_mode "défaut" -jar "$JAR"
+run_mode "optimisé" -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast -jar "$CDS_JAR"
@@ -0,0 +1,134 @@
+package com.example.socialapp.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache LRU borné, avec expiration après écriture.
+ *
+ * {@link #invalidate} laisse une marque à la place de l'entrée : une valeur chargée avant
+ * l'invalidation et insérée après (lecture concurrente d'une écriture) est ignorée au lieu
+ * de remettre en cache une valeur périmée. Les invalidations sont numérotées dans un ordre
+ * croissant global ; quand le LRU évince une marque, son numéro est conservé comme plancher
+ * pour toutes les clés absentes, si bien qu'un chargement commencé avant reste refusé.
+ * L'expiration borne la durée de vie des valeurs
+ * que les invalidations locales ne voient pas (écritures faites par une autre instance).
+ */
+public class BoundedCache<K, V> {
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long invalidations;
+    // Plus grand numéro d'invalidation porté par une entrée évincée par le LRU
+    private long evictedInvalidation;
+
+    public BoundedCache(int maxSize, Duration ttl, LongSupplier clock) {
+        if (maxSize <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Invalid cache configuration");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                evictedInvalidation = Math.max(evictedInvalidation, eldest.getValue().invalidation());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return la valeur en cache, ou null si absente, expirée ou invalidée
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value() == null) {
+            return null;
+        }
+        // Une entrée expirée reste en place jusqu'à son remplacement : elle garde sa marque
+        return clock.getAsLong() - entry.writtenAt() < ttlMillis ? entry.value() : null;
+    }
+
+    /**
+     * Renvoie la valeur en cache ou la charge ; le chargement se fait hors verrou.
+     * Une valeur null n'est pas mise en cache.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        long stamp;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            stamp = stamp();
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            putIfNotInvalidated(key, loaded, stamp);
+        }
+        return loaded;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong(), lastInvalidation(key)));
+    }
+
+    /**
+     * Remplace la valeur en cache (écriture traversante) ; ne fait rien si elle est absente,
+     * expirée ou invalidée.
+     *
+     * @return la nouvelle valeur, ou null si la clé n'était pas en cache
+     */
+    public synchronized V computeIfPresent(K key, UnaryOperator<V> update) {
+        V cached = get(key);
+        if (cached == null) {
+            return null;
+        }
+        V updated = update.apply(cached);
+        put(key, updated);
+        return updated;
+    }
+
+    /**
+     * Insère la valeur sauf si la clé a été invalidée depuis {@code stamp} (voir {@link #stamp}).
+     */
+    public synchronized boolean putIfNotInvalidated(K key, V value, long stamp) {
+        if (lastInvalidation(key) > stamp) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Numéro de la dernière invalidation, toutes clés confondues, à relever avant un chargement.
+     */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.put(key, new Entry<>(null, clock.getAsLong(), ++invalidations));
+    }
+
+    // Sans entrée (jamais vue ou évincée), la clé a pu être invalidée jusqu'au plancher des évincées
+    private long lastInvalidation(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.invalidation() : evictedInvalidation;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long writtenAt, long invalidation) {
+    }
+}
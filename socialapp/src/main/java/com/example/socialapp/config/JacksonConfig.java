@@ -0,0 +1,52 @@
+package com.example.socialapp.config;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Champs choisis par le client ("sparse fieldsets") et encodage CBOR des réponses.
+ *
+ * Les DTO annotés {@code @JsonFilter(FIELDS_FILTER)} sont sérialisés en entier par défaut ;
+ * un {@code MappingJacksonValue} portant {@link #onlyFields} restreint les champs écrits.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final String FIELDS_FILTER = "fields";
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldsFilterCustomizer() {
+        return builder -> builder.filters(allFields());
+    }
+
+    /**
+     * Répond en CBOR lorsque le client envoie {@code Accept: application/cbor}, avec la même
+     * configuration que le JSON (dates, filtres) : les DTO sont écrits directement en binaire.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    public static FilterProvider allFields() {
+        return new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .setFailOnUnknownId(false);
+    }
+
+    public static FilterProvider onlyFields(Set<String> fields) {
+        return new SimpleFilterProvider()
+                .addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields))
+                .setFailOnUnknownId(false);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.socialapp.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import com.example.socialapp.controller.AuthController;
+import com.example.socialapp.controller.PostController;
+import com.example.socialapp.journal.JournalService;
+
+/**
+ * Beans toujours créés au démarrage, même avec {@code spring.main.lazy-initialization=true}.
+ *
+ * Le fil et l'authentification (et leurs dépendances) sont prêts avant la première requête ;
+ * le journal est rejoué au démarrage pour que les compteurs soient chauds.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter hotPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                PostController.class,
+                AuthController.class,
+                SecurityFilterChain.class,
+                JournalService.class);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.socialapp.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.socialapp.dto.AttachmentDto;
+import com.example.socialapp.entity.Attachment;
+import com.example.socialapp.exception.AttachmentTooLargeException;
+import com.example.socialapp.services.interfaces.IAttachmentService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/attachments")
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    // Attributs de requête reconnus par Tomcat pour envoyer un fichier via sendfile(2)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    // Types affichés tels quels par le navigateur sans pouvoir exécuter de script (pas de SVG ni de HTML)
+    private static final Set<String> INLINE_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/gif", "image/webp",
+            "video/mp4", "video/webm", "audio/mpeg", "audio/ogg");
+
+    private final IAttachmentService attachmentService;
+
+    /**
+     * Envoie un attachement : le corps brut de la requête est le contenu du fichier.
+     */
+    @PostMapping
+    public ResponseEntity<AttachmentDto> upload(HttpServletRequest request) throws IOException {
+        try {
+            AttachmentDto attachment = attachmentService.upload(
+                    Channels.newChannel(request.getInputStream()),
+                    request.getContentType(),
+                    request.getContentLengthLong());
+            return ResponseEntity.created(URI.create("/api/attachments/" + attachment.getHash()))
+                    .body(attachment);
+        } catch (AttachmentTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Télécharge un attachement, entier ou partiellement (en-tête Range, un seul intervalle).
+     *
+     * Le hash sert d'ETag : le contenu ne change jamais, If-None-Match donne un 304 et
+     * If-Range n'honore le Range que pour ce même contenu.
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable String hash, HttpServletRequest request) {
+        Optional<Attachment> found = attachmentService.find(hash);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Attachment attachment = found.get();
+        String etag = "\"" + attachment.getHash() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        long length = attachment.getSize();
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges = parseRanges(request.getHeader(HttpHeaders.RANGE));
+        // Plusieurs intervalles : on renvoie tout le contenu, ce que la RFC 9110 autorise
+        if (ranges.size() == 1 && (ifRange == null || ifRange.equals(etag))) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length || start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+
+        long count = end - start + 1;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header("X-Content-Type-Options", "nosniff")
+                .contentLength(count);
+        servedAs(response, attachment.getContentType());
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        Path file = attachmentService.path(attachment);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && count >= SENDFILE_THRESHOLD) {
+            // Tomcat envoie le fichier directement depuis le noyau une fois les en-têtes écrits
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return response.build();
+        }
+        long position = start;
+        return response.body(out -> transfer(file, position, count, out));
+    }
+
+    /**
+     * Le type déclaré à l'envoi vient du client : hors liste blanche, le contenu est servi en
+     * application/octet-stream et à télécharger, jamais interprété dans la page (text/html...).
+     */
+    private static void servedAs(ResponseEntity.BodyBuilder response, String contentType) {
+        MediaType declared = parseMediaType(contentType);
+        if (declared != null && INLINE_TYPES.contains(declared.getType() + "/" + declared.getSubtype())) {
+            response.contentType(new MediaType(declared.getType(), declared.getSubtype()));
+            return;
+        }
+        response.contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+    }
+
+    private static MediaType parseMediaType(String contentType) {
+        try {
+            return contentType != null ? MediaType.parseMediaType(contentType) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sans sendfile, la plage est recopiée par un tampon en mémoire vers la réponse :
+     * le conteneur n'expose qu'un OutputStream, aucun transfert noyau n'est possible ici.
+     */
+    private static void transfer(Path file, long start, long count, OutputStream out) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            StreamUtils.copyRange(in, out, start, start + count - 1);
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // Range mal formé : ignoré, on renvoie le contenu entier
+            return List.of();
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.socialapp.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.socialapp.services.interfaces.IFeedService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final IFeedService feedService;
+
+    /**
+     * Reconstruit le modèle de lecture du fil à partir de la table posts.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuild() {
+        return ResponseEntity.ok(Map.of("rebuilt", feedService.rebuild()));
+    }
+}
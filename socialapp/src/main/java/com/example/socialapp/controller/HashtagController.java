@@ -0,0 +1,52 @@
+package com.example.socialapp.controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.socialapp.dto.HashtagCountDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.services.interfaces.IHashtagService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/hashtags")
+@RequiredArgsConstructor
+public class HashtagController {
+
+    private static final int MAX_TOP_HASHTAGS = 100;
+
+    private final IHashtagService hashtagService;
+
+    /**
+     * Récupère les posts paginés contenant le hashtag donné (sans le '#').
+     */
+    @GetMapping("/{hashtag}/posts")
+    public ResponseEntity<Page<PostResponseDto>> getPostsByHashtag(
+            @PathVariable String hashtag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(hashtagService.getPostsByHashtag(hashtag, page, size));
+    }
+
+    /**
+     * Hashtags les plus utilisés sur la fenêtre glissante récente (au plus 100).
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<HashtagCountDto>> getTopHashtags(
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hashtagService.getTopHashtags(Math.min(limit, MAX_TOP_HASHTAGS)));
+    }
+}
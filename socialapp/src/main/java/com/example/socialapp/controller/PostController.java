@@ -1,15 +1,23 @@
 package com.example.socialapp.controller;
 
-import org.springframework.data.domain.Page;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.socialapp.config.JacksonConfig;
 import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostPageDto;
 import com.example.socialapp.dto.PostResponseDto;
 import com.example.socialapp.entity.Post;
+import com.example.socialapp.services.interfaces.IFeedService;
 import com.example.socialapp.services.interfaces.IPostService;
 
 import jakarta.validation.Valid;
@@ -20,7 +28,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final int MAX_IDS = 100;
+
     private final IPostService postService;
+    private final IFeedService feedService;
 
     /**
      * Crée un nouveau post pour l'utilisateur connecté.
@@ -34,22 +45,65 @@ public class PostController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Post post = postService.createPost(dto, userDetails.getUsername());
-        PostResponseDto response = PostResponseDto.fromEntity(post);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        try {
+            Post post = postService.createPost(dto, userDetails.getUsername());
+            PostResponseDto response = PostResponseDto.fromEntity(post);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            // Attachement inconnu
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * Récupère les posts paginés pour l'affichage (scroll infini).
+     *
+     * {@code fields} limite les champs de chaque post (ex. {@code id,content,likesCount}) ;
+     * {@code envelope=lean} remplace la Page Spring par {@link PostPageDto}, sans total.
+     * Le corps est écrit en JSON ou en CBOR selon l'en-tête Accept.
      */
     @GetMapping
-    public ResponseEntity<Page<PostResponseDto>> getAllPosts(
+    public ResponseEntity<MappingJacksonValue> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "page") String envelope) {
 
-        Page<PostResponseDto> posts = postService.getAllPosts(page, size)
-                .map(PostResponseDto::fromEntity);
-        return ResponseEntity.ok(posts);
+        Object body = "lean".equals(envelope)
+                ? PostPageDto.fromSlice(feedService.getFeedSlice(page, size))
+                : feedService.getFeed(page, size);
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null && !fields.isBlank()) {
+            value.setFilters(JacksonConfig.onlyFields(parseFields(fields)));
+        }
+        return ResponseEntity.ok(value);
+    }
+
+    /**
+     * Récupère plusieurs posts par id (notifications, liens partagés), dans l'ordre demandé.
+     * Les ids inconnus sont omis ; {@code fields} comme pour {@link #getAllPosts}.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MappingJacksonValue> getPostsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        MappingJacksonValue value = new MappingJacksonValue(postService.getPosts(ids));
+        if (fields != null && !fields.isBlank()) {
+            value.setFilters(JacksonConfig.onlyFields(parseFields(fields)));
+        }
+        return ResponseEntity.ok(value);
+    }
+
+    /**
+     * Récupère un post par son id.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PostResponseDto> getPost(@PathVariable Long id) {
+        return ResponseEntity.of(postService.getPost(id));
     }
 
     /**
@@ -57,8 +111,13 @@ public class PostController {
      */
     @PostMapping("/{id}/like")
     public ResponseEntity<PostResponseDto> likePost(@PathVariable Long id) {
-        Post liked = postService.likePost(id);
-        PostResponseDto response = PostResponseDto.fromEntity(liked);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(postService.likePost(id));
+    }
+
+    private static Set<String> parseFields(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
     }
 }
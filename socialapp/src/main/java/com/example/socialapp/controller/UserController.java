@@ -0,0 +1,74 @@
+package com.example.socialapp.controller;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.socialapp.dto.PostCursorPageDto;
+import com.example.socialapp.dto.UserProfileDto;
+import com.example.socialapp.services.interfaces.IPostService;
+import com.example.socialapp.services.interfaces.IUserService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final IUserService userService;
+    private final IPostService postService;
+
+    /**
+     * Suggestions de noms d'utilisateur pendant la saisie (typeahead).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<String>> search(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (prefix.isBlank() || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.searchUsernames(prefix, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    /**
+     * Page de profil : nombre de posts et total des likes reçus.
+     */
+    @GetMapping("/{username}")
+    public ResponseEntity<UserProfileDto> getProfile(@PathVariable String username) {
+        return ResponseEntity.of(userService.getProfile(username));
+    }
+
+    /**
+     * Posts de l'utilisateur, du plus récent au plus ancien ; {@code cursor} vient de la page précédente.
+     */
+    @GetMapping("/{username}/posts")
+    public ResponseEntity<PostCursorPageDto> getPosts(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(postService.getAuthorTimeline(username, cursor, Math.min(size, MAX_PAGE_SIZE)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            // Curseur invalide
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
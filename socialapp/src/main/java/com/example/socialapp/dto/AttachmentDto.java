@@ -0,0 +1,24 @@
+package com.example.socialapp.dto;
+
+import com.example.socialapp.entity.Attachment;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentDto {
+    private String hash;
+    private long size;
+    private String contentType;
+
+    public static AttachmentDto fromEntity(Attachment attachment) {
+        return AttachmentDto.builder()
+                .hash(attachment.getHash())
+                .size(attachment.getSize())
+                .contentType(attachment.getContentType())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.socialapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HashtagCountDto {
+    private String hashtag;
+    private long count;
+}
@@ -0,0 +1,18 @@
+package com.example.socialapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Page de posts paginée par curseur ; {@code nextCursor} est null sur la dernière page.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCursorPageDto {
+    private List<PostResponseDto> content;
+    private String nextCursor;
+}
@@ -1,6 +1,9 @@
 package com.example.socialapp.dto;
 
+import java.util.List;
+
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,4 +19,7 @@ public class PostDto {
 
     @NotBlank(message = "Post content cannot be empty")
     private String content;
+
+    @Size(max = 4, message = "A post cannot have more than 4 attachments")
+    private List<String> attachmentHashes;
 }
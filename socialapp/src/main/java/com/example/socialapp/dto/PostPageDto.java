@@ -0,0 +1,27 @@
+package com.example.socialapp.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Enveloppe réduite d'une page du fil : pas de métadonnées Pageable ni de total,
+ * le client n'a besoin que de savoir s'il reste une page suivante.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostPageDto {
+    private List<PostResponseDto> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public static PostPageDto fromSlice(Slice<PostResponseDto> slice) {
+        return new PostPageDto(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
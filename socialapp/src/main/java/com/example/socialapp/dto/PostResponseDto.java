@@ -1,20 +1,26 @@
 package com.example.socialapp.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import com.example.socialapp.config.JacksonConfig;
 import com.example.socialapp.entity.Post;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
+// Champs sélectionnables par le client (paramètre "fields")
+@JsonFilter(JacksonConfig.FIELDS_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PostResponseDto {
     private Long id;
     private String content;
     private LocalDateTime createdAt;
     private int likesCount;
     private String authorUsername;
+    private List<String> attachmentHashes;
 
     public static PostResponseDto fromEntity(Post post) {
         return PostResponseDto.builder()
@@ -23,6 +29,7 @@ public class PostResponseDto {
                 .createdAt(post.getCreatedAt())
                 .likesCount(post.getLikesCount())
                 .authorUsername(post.getAuthor() != null ? post.getAuthor().getUsername() : null)
+                .attachmentHashes(post.getAttachmentHashes() != null ? post.getAttachmentHashes() : List.of())
                 .build();
     }
 }
@@ -1,6 +1,7 @@
 package com.example.socialapp.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,6 +16,7 @@ import lombok.Setter;
 public class UserDto {
 
     @NotBlank(message = "Username is required")
+    @Size(max = 255, message = "Username cannot be longer than 255 characters")
     private String username;
 
     @NotBlank(message = "Password is required")
@@ -0,0 +1,44 @@
+package com.example.socialapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fichier attaché, identifié par le SHA-256 de son contenu.
+ *
+ * Deux envois identiques partagent la même ligne et le même fichier sur disque.
+ */
+@Entity
+@Table(name = "attachments")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Attachment {
+
+    // Type MIME sans paramètres (type/sous-type)
+    public static final int CONTENT_TYPE_LENGTH = 100;
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = CONTENT_TYPE_LENGTH)
+    private String contentType;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
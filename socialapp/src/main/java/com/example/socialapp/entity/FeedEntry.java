@@ -0,0 +1,51 @@
+package com.example.socialapp.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Modèle de lecture dénormalisé du fil d'actualité (une ligne par post).
+ *
+ * Alimenté de façon asynchrone à partir des événements de {@code PostServiceImpl} ;
+ * ne doit jamais être écrit directement par le code métier.
+ */
+@Entity
+@Table(name = "feed_entries", indexes = {
+        @Index(name = "idx_feed_entries_created_at", columnList = "created_at DESC, post_id DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedEntry {
+
+    @Id
+    private Long postId;
+
+    private String authorUsername;
+
+    @Column(nullable = false, length = 500)
+    private String content;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private int likesCount;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "attachment_hashes", length = 300)
+    private List<String> attachmentHashes;
+}
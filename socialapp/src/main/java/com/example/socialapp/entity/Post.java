@@ -1,13 +1,16 @@
 package com.example.socialapp.entity;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.socialapp.shard.ShardedId;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,7 +21,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_posts_author", columnList = "user_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,8 +32,9 @@ import lombok.Setter;
 @Builder
 public class Post {
 
+    // Encode le shard du post (voir ShardRouter)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId
     private Long id;
 
     @Column(nullable = false, length = 500)
@@ -40,5 +47,14 @@ public class Post {
     @JoinColumn(name = "user_id")
     private User author;
 
+    // Id de l'auteur sans charger l'utilisateur, qui vit sur le shard principal
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long authorId;
+
     private int likesCount;
+
+    // Hashes des attachements, dans l'ordre choisi par l'auteur
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "attachment_hashes", length = 300)
+    private List<String> attachmentHashes;
 }
@@ -0,0 +1,59 @@
+package com.example.socialapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hashtag ou mention extrait du contenu d'un post.
+ *
+ * La date du post est recopiée pour que "posts par hashtag" soit servi par l'index
+ * (kind, tag_value, created_at) sans jointure sur posts.
+ */
+@Entity
+@Table(name = "post_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_tags_post_kind_value", columnNames = { "post_id", "kind", "tag_value" }),
+        indexes = @Index(name = "idx_post_tags_lookup", columnList = "kind, tag_value, created_at DESC, post_id DESC"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostTag {
+
+    public enum Kind {
+        HASHTAG,
+        MENTION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    @Column(name = "tag_value", nullable = false, length = 100)
+    private String value;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
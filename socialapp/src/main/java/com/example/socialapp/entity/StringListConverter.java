@@ -0,0 +1,26 @@
+package com.example.socialapp.entity;
+
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stocke une petite liste de chaînes sans virgule (ex. hashes d'attachements) dans une seule colonne.
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final String SEPARATOR = ",";
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        return values == null || values.isEmpty() ? null : String.join(SEPARATOR, values);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        return column == null || column.isEmpty() ? List.of() : Arrays.asList(column.split(SEPARATOR));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.socialapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compteurs dénormalisés d'un auteur, sur le shard de ses posts.
+ *
+ * Mis à jour dans la même transaction que la création d'un post ou l'ajout d'un like :
+ * la page de profil ne recalcule jamais COUNT/SUM sur {@code posts}.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long postCount;
+
+    @Column(nullable = false)
+    private long likesReceived;
+}
@@ -0,0 +1,31 @@
+package com.example.socialapp.event;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.socialapp.entity.Post;
+
+/**
+ * Publié après la persistance d'un nouveau post.
+ */
+public record PostCreatedEvent(
+        Long postId,
+        String authorUsername,
+        String content,
+        LocalDateTime createdAt,
+        int likesCount,
+        List<String> attachmentHashes,
+        Instant occurredAt) {
+
+    public static PostCreatedEvent of(Post post) {
+        return new PostCreatedEvent(
+                post.getId(),
+                post.getAuthor() != null ? post.getAuthor().getUsername() : null,
+                post.getContent(),
+                post.getCreatedAt(),
+                post.getLikesCount(),
+                post.getAttachmentHashes() != null ? post.getAttachmentHashes() : List.of(),
+                Instant.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.socialapp.event;
+
+import java.time.Instant;
+
+import com.example.socialapp.entity.Post;
+
+/**
+ * Publié après l'enregistrement d'un like.
+ *
+ * Porte le nombre de likes absolu (et non un delta) : réappliquer l'événement ou
+ * l'appliquer après un événement plus récent ne change pas le résultat.
+ */
+public record PostLikedEvent(Long postId, int likesCount, Instant occurredAt) {
+
+    public static PostLikedEvent of(Post post) {
+        return of(post.getId(), post.getLikesCount());
+    }
+
+    public static PostLikedEvent of(Long postId, int likesCount) {
+        return new PostLikedEvent(postId, likesCount, Instant.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.socialapp.event;
+
+import java.time.Instant;
+
+import com.example.socialapp.entity.User;
+
+/**
+ * Publié après l'enregistrement d'un nouvel utilisateur.
+ */
+public record UserRegisteredEvent(Long userId, String username, Instant occurredAt) {
+
+    public static UserRegisteredEvent of(User user) {
+        return new UserRegisteredEvent(user.getId(), user.getUsername(), Instant.now());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.socialapp.exception;
+
+/**
+ * Levée lorsqu'un attachement dépasse la taille maximale autorisée pendant son envoi.
+ */
+public class AttachmentTooLargeException extends RuntimeException {
+
+    public AttachmentTooLargeException(long maxSize) {
+        super("Attachment exceeds " + maxSize + " bytes");
+    }
+}
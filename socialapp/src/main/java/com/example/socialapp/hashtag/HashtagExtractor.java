@@ -0,0 +1,58 @@
+package com.example.socialapp.hashtag;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extrait les #hashtags et @mentions du contenu d'un post.
+ *
+ * Un tag doit être précédé d'un début de texte ou d'un caractère qui n'est ni une lettre,
+ * ni un chiffre, ni un autre marqueur (ainsi "a#b" ou "mail@site" ne sont pas retenus).
+ * Les hashtags sont normalisés en minuscules ; les mentions gardent la casse du username.
+ * Un tag de plus de {@link #MAX_TAG_LENGTH} caractères est ignoré, pas tronqué.
+ */
+public final class HashtagExtractor {
+
+    public static final int MAX_TAG_LENGTH = 100;
+
+    private static final Pattern HASHTAG =
+            Pattern.compile("(?<![\\p{L}\\p{N}_#@])#([\\p{L}\\p{N}_]{1," + MAX_TAG_LENGTH + "})"
+                    + "(?![\\p{L}\\p{N}_])");
+    private static final Pattern MENTION =
+            Pattern.compile("(?<![\\p{L}\\p{N}_#@])@([\\p{L}\\p{N}_.\\-]{1," + MAX_TAG_LENGTH + "})"
+                    // La suite ne peut être qu'une ponctuation finale ('.', '-'), pas la fin d'un nom plus long
+                    + "(?![\\p{L}\\p{N}_.\\-]*[\\p{L}\\p{N}_])");
+
+    private HashtagExtractor() {
+    }
+
+    public static Set<String> hashtags(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find()) {
+            tags.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tags;
+    }
+
+    public static Set<String> mentions(String content) {
+        Set<String> mentions = new LinkedHashSet<>();
+        Matcher matcher = MENTION.matcher(content);
+        while (matcher.find()) {
+            // Un point final relève de la ponctuation, pas du username
+            String mention = matcher.group(1).replaceAll("[.\\-]+$", "");
+            if (!mention.isEmpty()) {
+                mentions.add(mention);
+            }
+        }
+        return mentions;
+    }
+
+    public static String normalizeHashtag(String tag) {
+        String value = tag.startsWith("#") ? tag.substring(1) : tag;
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.socialapp.hashtag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-min sketch sur fenêtre glissante, avec extraction des k éléments les plus fréquents.
+ *
+ * La fenêtre est découpée en {@code buckets} tranches de durée égale ; chaque tranche a sa propre
+ * matrice {@code depth x width}. L'estimation d'une clé est le minimum, sur les lignes, de la somme
+ * des tranches encore dans la fenêtre : elle ne sous-estime jamais, et surestime d'au plus
+ * ~ e/width du total de la fenêtre avec une forte probabilité. Une tranche expirée est remise à zéro
+ * au moment où elle est réutilisée.
+ *
+ * Le sketch ne stocke pas les clés : un ensemble de candidats (clés vues dans la fenêtre) sert à
+ * construire le top-k avec un tas de taille k. Quand il est plein, une nouvelle clé remplace le
+ * candidat de plus petite estimation si la sienne est plus grande (tas min, voir
+ * {@link #evictBelow}). Les candidats sont purgés avec les tranches.
+ */
+public class SlidingWindowCountMinSketch {
+
+    /**
+     * Élément du top-k et son nombre d'occurrences estimé.
+     */
+    public record Entry(String key, long count) {
+    }
+
+    private final int depth;
+    private final int width;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final int[][][] counts;
+    private final long[] bucketEpochs;
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    // Estimation mémorisée à l'admission ou à la dernière réévaluation : jamais modifiée dans le tas
+    private final PriorityQueue<Candidate> byEstimate =
+            new PriorityQueue<>(Comparator.comparingLong(candidate -> candidate.estimate));
+    private final int maxCandidates;
+
+    public SlidingWindowCountMinSketch(int depth, int width, int buckets, long windowMillis,
+                                       int maxCandidates, LongSupplier clock) {
+        if (depth <= 0 || width <= 0 || buckets <= 0 || windowMillis < buckets || maxCandidates <= 0) {
+            throw new IllegalArgumentException("Invalid count-min sketch configuration");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.bucketMillis = windowMillis / buckets;
+        this.clock = clock;
+        this.counts = new int[buckets][depth][width];
+        this.bucketEpochs = new long[buckets];
+        this.maxCandidates = maxCandidates;
+        Arrays.fill(bucketEpochs, -1);
+    }
+
+    public synchronized void add(String key) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int[][] bucket = bucketFor(epoch);
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        for (int row = 0; row < depth; row++) {
+            bucket[row][index(h1, h2, row)]++;
+        }
+        Candidate candidate = candidates.get(key);
+        if (candidate != null) {
+            candidate.epoch = epoch;
+            return;
+        }
+        long estimate = estimate(key, epoch);
+        if (candidates.size() >= maxCandidates && !evictBelow(estimate, epoch)) {
+            return;
+        }
+        candidate = new Candidate(key, epoch, estimate);
+        candidates.put(key, candidate);
+        byEstimate.add(candidate);
+    }
+
+    public synchronized long estimate(String key) {
+        return estimate(key, clock.getAsLong() / bucketMillis);
+    }
+
+    /**
+     * Renvoie les {@code k} clés les plus fréquentes de la fenêtre, de la plus à la moins fréquente
+     * (aucune si {@code k <= 0}).
+     */
+    public synchronized List<Entry> top(int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        long epoch = clock.getAsLong() / bucketMillis;
+        pruneCandidates(epoch);
+        PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::count));
+        for (String key : candidates.keySet()) {
+            long count = estimate(key, epoch);
+            if (count == 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new Entry(key, count));
+            } else if (count > heap.peek().count()) {
+                heap.poll();
+                heap.add(new Entry(key, count));
+            }
+        }
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+        return result;
+    }
+
+    private long estimate(String key, long epoch) {
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = index(h1, h2, row);
+            long sum = 0;
+            for (int b = 0; b < counts.length; b++) {
+                if (isLive(bucketEpochs[b], epoch)) {
+                    sum += counts[b][row][column];
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    private int[][] bucketFor(long epoch) {
+        int slot = (int) Math.floorMod(epoch, (long) counts.length);
+        if (bucketEpochs[slot] != epoch) {
+            for (int[] row : counts[slot]) {
+                Arrays.fill(row, 0);
+            }
+            bucketEpochs[slot] = epoch;
+        }
+        return counts[slot];
+    }
+
+    private boolean isLive(long bucketEpoch, long epoch) {
+        return bucketEpoch >= 0 && epoch - bucketEpoch < counts.length;
+    }
+
+    private void pruneCandidates(long epoch) {
+        Iterator<Candidate> it = candidates.values().iterator();
+        while (it.hasNext()) {
+            if (!isLive(it.next().epoch, epoch)) {
+                it.remove();
+            }
+        }
+        byEstimate.removeIf(candidate -> !isLive(candidate.epoch, epoch));
+    }
+
+    /**
+     * Retire le candidat de plus petite estimation s'il est expiré ou en dessous de {@code estimate}.
+     *
+     * Les estimations du tas sont paresseuses : celle du sommet est recalculée et, si elle a
+     * changé, le candidat est replacé avant de regarder le nouveau sommet. Chaque candidat est
+     * recalculé au plus une fois par appel.
+     */
+    private boolean evictBelow(long estimate, long epoch) {
+        while (!byEstimate.isEmpty()) {
+            Candidate min = byEstimate.peek();
+            if (!isLive(min.epoch, epoch)) {
+                byEstimate.poll();
+                candidates.remove(min.key);
+                return true;
+            }
+            long current = estimate(min.key, epoch);
+            if (current != min.estimate) {
+                byEstimate.poll();
+                min.estimate = current;
+                byEstimate.add(min);
+                continue;
+            }
+            if (min.estimate >= estimate) {
+                return false;
+            }
+            byEstimate.poll();
+            candidates.remove(min.key);
+            return true;
+        }
+        return true;
+    }
+
+    private static final class Candidate {
+        private final String key;
+        private long epoch;
+        private long estimate;
+
+        private Candidate(String key, long epoch, long estimate) {
+            this.key = key;
+            this.epoch = epoch;
+            this.estimate = estimate;
+        }
+    }
+
+    private int index(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
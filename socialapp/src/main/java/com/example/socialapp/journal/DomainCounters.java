@@ -0,0 +1,168 @@
+package com.example.socialapp.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compteurs globaux tenus en mémoire (posts, utilisateurs, likes) et likes par post.
+ *
+ * Reconstruits au démarrage à partir du dernier snapshot et du journal, puis maintenus
+ * à chaque événement. Le nombre de likes par post est conservé pour convertir les
+ * compteurs absolus portés par les événements en incréments du total.
+ *
+ * Seuls les {@code maxTrackedPosts} posts les plus récemment actifs sont suivis. Un like sur
+ * un post oublié compte pour un (chaque événement correspond à un like) : le total reste
+ * exact en fonctionnement normal, mais un rejeu en double de ces événements n'est plus filtré.
+ */
+@Component
+public class DomainCounters {
+
+    /**
+     * Copie de l'état, prise sous verrou et sérialisable hors verrou.
+     */
+    public record State(long users, long posts, long likes, Map<Long, Integer> trackedPosts) {
+    }
+
+    private final AtomicLong posts = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong likes = new AtomicLong();
+    private final LinkedHashMap<Long, Integer> likesByPost;
+
+    public DomainCounters(MeterRegistry meterRegistry,
+                          @Value("${app.journal.tracked-posts:100000}") int maxTrackedPosts) {
+        if (maxTrackedPosts <= 0) {
+            throw new IllegalArgumentException("Invalid journal tracked posts: " + maxTrackedPosts);
+        }
+        this.likesByPost = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > maxTrackedPosts;
+            }
+        };
+        Gauge.builder("domain.posts", posts, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("domain.users", users, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("domain.likes", likes, AtomicLong::get).register(meterRegistry);
+    }
+
+    public long getPosts() {
+        return posts.get();
+    }
+
+    public long getUsers() {
+        return users.get();
+    }
+
+    public long getLikes() {
+        return likes.get();
+    }
+
+    public synchronized int getLikes(long postId) {
+        return likesByPost.getOrDefault(postId, 0);
+    }
+
+    public synchronized int trackedPosts() {
+        return likesByPost.size();
+    }
+
+    /**
+     * Applique un événement du journal. Un like plus ancien que l'état connu est ignoré.
+     */
+    public synchronized void apply(JournalEvent event) {
+        switch (event.type()) {
+            case POST_CREATED -> {
+                if (!likesByPost.containsKey(event.entityId())) {
+                    likesByPost.put(event.entityId(), event.count());
+                    posts.incrementAndGet();
+                    likes.addAndGet(event.count());
+                }
+            }
+            case POST_LIKED -> {
+                Integer known = likesByPost.get(event.entityId());
+                if (known == null) {
+                    likesByPost.put(event.entityId(), event.count());
+                    likes.incrementAndGet();
+                } else if (event.count() > known) {
+                    likesByPost.put(event.entityId(), event.count());
+                    likes.addAndGet(event.count() - known);
+                }
+            }
+            case USER_REGISTERED -> users.incrementAndGet();
+        }
+    }
+
+    /**
+     * Réinitialise l'état à partir de totaux lus en base (premier démarrage). Aucun post
+     * n'est suivi : le premier like de chaque post compte pour un, puis il est suivi.
+     */
+    public void reset(long userCount, long postCount, long likeCount) {
+        reset(new State(userCount, postCount, likeCount, Map.of()));
+    }
+
+    public synchronized State copyState() {
+        return new State(users.get(), posts.get(), likes.get(), new LinkedHashMap<>(likesByPost));
+    }
+
+    public byte[] snapshot() {
+        return serialize(copyState());
+    }
+
+    public static byte[] serialize(State state) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(state.users());
+            out.writeLong(state.posts());
+            out.writeLong(state.likes());
+            out.writeInt(state.trackedPosts().size());
+            // Du moins au plus récemment actif : l'ordre LRU est reconstruit à la lecture
+            for (Map.Entry<Long, Integer> entry : state.trackedPosts().entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void restore(byte[] state) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            long userCount = in.readLong();
+            long postCount = in.readLong();
+            long likeCount = in.readLong();
+            reset(new State(userCount, postCount, likeCount, readPosts(in)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void reset(State state) {
+        likesByPost.clear();
+        likesByPost.putAll(state.trackedPosts());
+        posts.set(state.posts());
+        users.set(state.users());
+        likes.set(state.likes());
+    }
+
+    private static Map<Long, Integer> readPosts(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<Long, Integer> postLikes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            postLikes.put(in.readLong(), in.readInt());
+        }
+        return postLikes;
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.socialapp.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal binaire en ajout seul, découpé en segments de taille fixe projetés en mémoire.
+ *
+ * Format d'un enregistrement : {@code [longueur:int][crc32:int][payload]}, le payload contenant
+ * {@code [type:byte][timestamp:long][entityId:long][count:int][nameLength:short][name:utf8]}.
+ * Une longueur nulle marque la fin des données d'un segment (les fichiers sont créés remplis de zéros).
+ *
+ * Les écritures vont dans le page cache via le {@link MappedByteBuffer} ; elles ne sont forcées
+ * sur disque qu'au changement de segment, lors d'un snapshot ou via {@link #force()}.
+ * Au redémarrage, une fin de segment partiellement écrite est détectée par son CRC puis effacée.
+ * Un enregistrement corrompu suivi d'enregistrements valides n'est pas une écriture interrompue :
+ * rien n'est effacé, les ajouts reprennent dans un nouveau segment et {@link #replay} signale
+ * la corruption en s'y arrêtant.
+ *
+ * Les snapshots sont des fichiers séparés ({@code snapshot-<segment>-<offset>.bin}) ; les segments
+ * entièrement antérieurs au plus ancien snapshot conservé sont supprimés.
+ *
+ * Les ajouts sont thread-safe ; {@link #writeSnapshot} peut s'exécuter sur un autre thread sans
+ * les bloquer. {@link #replay} est prévu pour le démarrage, avant tout ajout.
+ */
+public class EventJournal implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 1 + 8 + 8 + 4 + 2;
+    private static final int MAX_NAME_BYTES = 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int SNAPSHOTS_TO_KEEP = 2;
+
+    /**
+     * Résultat d'un rejeu : position de fin, nombre d'événements lus et présence d'une corruption.
+     */
+    public record ReplayResult(JournalPosition end, long events, boolean corrupted) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32 crc = new CRC32();
+    private final Object snapshotLock = new Object();
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private JournalPosition corruption;
+
+    private EventJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Ouvre (ou crée) le journal et se positionne après le dernier enregistrement valide.
+     *
+     * @param directory   répertoire des segments et snapshots
+     * @param segmentSize taille d'un segment en octets
+     */
+    public static EventJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + FIXED_PAYLOAD_SIZE + MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        EventJournal journal = new EventJournal(directory, segmentSize);
+        List<Long> segments = journal.segments();
+        journal.map(segments.isEmpty() ? 0 : segments.get(segments.size() - 1));
+
+        int end = 0;
+        int next;
+        while ((next = nextRecordOffset(journal.buffer, end, null)) >= 0) {
+            end = next;
+        }
+        if (next == -2 && hasValidRecordAfter(journal.buffer, end)) {
+            // Corruption au milieu des données : le segment est laissé intact
+            journal.corruption = new JournalPosition(journal.segment, end);
+            journal.roll();
+            return journal;
+        }
+        if (next == -2) {
+            // Fin partiellement écrite : on l'efface pour que le segment se termine proprement
+            for (int i = end; i < journal.buffer.capacity(); i++) {
+                journal.buffer.put(i, (byte) 0);
+            }
+        }
+        journal.buffer.position(end);
+        return journal;
+    }
+
+    /**
+     * Position de l'enregistrement corrompu trouvé à l'ouverture au milieu du dernier segment.
+     */
+    public Optional<JournalPosition> corruption() {
+        return Optional.ofNullable(corruption);
+    }
+
+    /**
+     * Ajoute un événement à la fin du journal.
+     *
+     * @return la position juste après l'enregistrement
+     */
+    public synchronized JournalPosition append(JournalEvent event) throws IOException {
+        byte[] name = event.name() != null ? event.name().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Journal event name too long");
+        }
+        int payloadSize = FIXED_PAYLOAD_SIZE + name.length;
+        if (buffer.remaining() < HEADER_SIZE + payloadSize) {
+            roll();
+        }
+
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put(event.type().code());
+        buffer.putLong(event.timestamp());
+        buffer.putLong(event.entityId());
+        buffer.putInt(event.count());
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+
+        crc.reset();
+        crc.update(buffer.slice(start + HEADER_SIZE, payloadSize));
+        // La longueur est écrite en dernier : un enregistrement sans longueur n'existe pas encore
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, payloadSize);
+        return new JournalPosition(segment, buffer.position());
+    }
+
+    /**
+     * Position courante d'écriture.
+     */
+    public synchronized JournalPosition position() {
+        return new JournalPosition(segment, buffer.position());
+    }
+
+    /**
+     * Force l'écriture sur disque du segment courant.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Relit les événements à partir de {@code from}, dans l'ordre d'écriture.
+     *
+     * Le rejeu s'arrête au premier enregistrement dont le CRC ne correspond pas : les événements
+     * suivants ne sont pas appliqués pour ne pas reconstruire un état incohérent.
+     */
+    public ReplayResult replay(JournalPosition from, Consumer<JournalEvent> consumer) throws IOException {
+        JournalPosition end = from;
+        long events = 0;
+        for (long current : segments()) {
+            if (current < from.segment()) {
+                continue;
+            }
+            int offset = current == from.segment() ? from.offset() : 0;
+            try (FileChannel readChannel = FileChannel.open(segmentPath(current), StandardOpenOption.READ)) {
+                MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                CRC32 readCrc = new CRC32();
+                while (true) {
+                    int next = nextRecordOffset(readBuffer, offset, readCrc);
+                    if (next == -2) {
+                        return new ReplayResult(new JournalPosition(current, offset), events, true);
+                    }
+                    if (next < 0) {
+                        break;
+                    }
+                    consumer.accept(decode(readBuffer, offset + HEADER_SIZE));
+                    events++;
+                    offset = next;
+                }
+            }
+            end = new JournalPosition(current, offset);
+        }
+        return new ReplayResult(end, events, false);
+    }
+
+    /**
+     * Écrit un snapshot de l'état en mémoire valable jusqu'à {@code position}, puis supprime
+     * les snapshots et segments devenus inutiles.
+     *
+     * Seule la lecture du segment courant prend le verrou des ajouts : l'écriture du fichier
+     * et son fsync se font en parallèle des ajouts.
+     */
+    public void writeSnapshot(JournalPosition position, byte[] state) throws IOException {
+        MappedByteBuffer current;
+        long currentSegment;
+        synchronized (this) {
+            current = buffer;
+            currentSegment = segment;
+        }
+        // Les segments précédents ont été forcés sur disque au changement de segment
+        current.force();
+        synchronized (snapshotLock) {
+            writeSnapshotFile(position, state, currentSegment);
+        }
+    }
+
+    private void writeSnapshotFile(JournalPosition position, byte[] state, long currentSegment) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate(8 + 4 + 4 + state.length + 4);
+        content.putLong(position.segment());
+        content.putInt(position.offset());
+        content.putInt(state.length);
+        content.put(state);
+        CRC32 snapshotCrc = new CRC32();
+        snapshotCrc.update(content.array(), 0, content.position());
+        content.putInt((int) snapshotCrc.getValue());
+
+        String name = String.format("%s%020d-%010d%s", SNAPSHOT_PREFIX, position.segment(), position.offset(), SNAPSHOT_SUFFIX);
+        Path tmp = directory.resolve(name + ".tmp");
+        Files.write(tmp, content.array());
+        try (FileChannel tmpChannel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            tmpChannel.force(true);
+        }
+        Files.move(tmp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = snapshotsNewestFirst();
+        for (int i = SNAPSHOTS_TO_KEEP; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        long oldestKeptSegment = parseSnapshotSegment(snapshots.get(Math.min(SNAPSHOTS_TO_KEEP, snapshots.size()) - 1));
+        for (long old : segments()) {
+            if (old < oldestKeptSegment && old != currentSegment) {
+                Files.deleteIfExists(segmentPath(old));
+            }
+        }
+    }
+
+    /**
+     * Renvoie le snapshot valide le plus récent, en ignorant les fichiers corrompus.
+     */
+    public Optional<JournalSnapshot> latestSnapshot() throws IOException {
+        for (Path path : snapshotsNewestFirst()) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (content.capacity() < 8 + 4 + 4 + 4) {
+                continue;
+            }
+            CRC32 snapshotCrc = new CRC32();
+            snapshotCrc.update(content.array(), 0, content.capacity() - 4);
+            if ((int) snapshotCrc.getValue() != content.getInt(content.capacity() - 4)) {
+                continue;
+            }
+            JournalPosition position = new JournalPosition(content.getLong(), content.getInt());
+            int length = content.getInt();
+            if (length != content.capacity() - 8 - 4 - 4 - 4) {
+                continue;
+            }
+            byte[] state = new byte[length];
+            content.get(state);
+            return Optional.of(new JournalSnapshot(position, state));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        map(segment + 1);
+    }
+
+    private void map(long index) throws IOException {
+        segment = index;
+        channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    /**
+     * Valide l'enregistrement situé à {@code offset}.
+     *
+     * @return l'offset de l'enregistrement suivant, -1 en fin de données, -2 si l'enregistrement est corrompu
+     */
+    private static int nextRecordOffset(ByteBuffer source, int offset, CRC32 checksum) {
+        if (source.capacity() - offset < HEADER_SIZE) {
+            return -1;
+        }
+        int length = source.getInt(offset);
+        if (length == 0) {
+            return -1;
+        }
+        if (length < FIXED_PAYLOAD_SIZE || length > source.capacity() - offset - HEADER_SIZE) {
+            return -2;
+        }
+        CRC32 crc = checksum != null ? checksum : new CRC32();
+        crc.reset();
+        crc.update(source.slice(offset + HEADER_SIZE, length));
+        if ((int) crc.getValue() != source.getInt(offset + 4)) {
+            return -2;
+        }
+        return offset + HEADER_SIZE + length;
+    }
+
+    /**
+     * Cherche un enregistrement valide après l'enregistrement corrompu situé à {@code offset},
+     * dont la longueur elle-même peut être fausse ; après une écriture interrompue il n'y a que des zéros.
+     */
+    private static boolean hasValidRecordAfter(ByteBuffer source, int offset) {
+        CRC32 checksum = new CRC32();
+        for (int candidate = offset + 1; candidate <= source.capacity() - HEADER_SIZE; candidate++) {
+            if (nextRecordOffset(source, candidate, checksum) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JournalEvent decode(ByteBuffer source, int offset) {
+        ByteBuffer payload = source.slice(offset, source.capacity() - offset);
+        JournalEvent.Type type = JournalEvent.Type.fromCode(payload.get());
+        long timestamp = payload.getLong();
+        long entityId = payload.getLong();
+        int count = payload.getInt();
+        byte[] name = new byte[payload.getShort()];
+        payload.get(name);
+        return new JournalEvent(type, timestamp, entityId, count,
+                name.length > 0 ? new String(name, StandardCharsets.UTF_8) : null);
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<Path> snapshotsNewestFirst() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>(files
+                    .filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && p.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .toList());
+            // Les noms sont de largeur fixe : l'ordre lexicographique suit l'ordre des positions
+            snapshots.sort(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed());
+            return snapshots;
+        }
+    }
+
+    private static long parseSnapshotSegment(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), SNAPSHOT_PREFIX.length() + 20));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.socialapp.journal;
+
+/**
+ * Enregistrement du journal : un événement métier sous forme compacte.
+ *
+ * @param type        nature de l'événement
+ * @param timestamp   horodatage en millisecondes epoch
+ * @param entityId    id du post (POST_*) ou de l'utilisateur (USER_REGISTERED)
+ * @param count       nombre de likes après l'opération (POST_LIKED), 0 sinon
+ * @param name        username de l'auteur ou de l'utilisateur, peut être null
+ */
+public record JournalEvent(Type type, long timestamp, long entityId, int count, String name) {
+
+    public enum Type {
+        POST_CREATED((byte) 1),
+        POST_LIKED((byte) 2),
+        USER_REGISTERED((byte) 3);
+
+        private final byte code;
+
+        Type(byte code) {
+            this.code = code;
+        }
+
+        public byte code() {
+            return code;
+        }
+
+        public static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal event type: " + code);
+        }
+    }
+}
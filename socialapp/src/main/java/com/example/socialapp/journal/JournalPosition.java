@@ -0,0 +1,15 @@
+package com.example.socialapp.journal;
+
+/**
+ * Position dans le journal : numéro de segment et offset d'octet dans ce segment.
+ */
+public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+
+    public static final JournalPosition START = new JournalPosition(0, 0);
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        int bySegment = Long.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+}
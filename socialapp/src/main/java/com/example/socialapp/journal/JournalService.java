@@ -0,0 +1,198 @@
+package com.example.socialapp.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.socialapp.event.PostCreatedEvent;
+import com.example.socialapp.event.PostLikedEvent;
+import com.example.socialapp.event.UserRegisteredEvent;
+import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journalise les événements métier et réchauffe {@link DomainCounters} au démarrage.
+ *
+ * Au démarrage, l'état est restauré depuis le dernier snapshot puis les événements suivants
+ * sont rejoués ; Postgres n'est interrogé que si le journal est vide (premier démarrage)
+ * ou désactivé. Un snapshot est écrit tous les {@code snapshotEvery} événements et à l'arrêt.
+ *
+ * Les snapshots périodiques sont sérialisés et écrits par un thread dédié, à partir d'une
+ * copie de l'état prise sous le verrou : les écrivains n'attendent pas le fsync.
+ */
+@Slf4j
+@Component
+public class JournalService {
+
+    private final DomainCounters counters;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int snapshotEvery;
+
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+    // Un événement appliqué aux compteurs n'est pas dans le journal : le prochain snapshot le couvre
+    private final AtomicBoolean unjournaled = new AtomicBoolean();
+
+    private EventJournal journal;
+    private int sinceSnapshot;
+
+    public JournalService(DomainCounters counters,
+                          PostRepository postRepository,
+                          UserRepository userRepository,
+                          ShardRouter shardRouter,
+                          @Value("${app.journal.enabled:true}") boolean enabled,
+                          @Value("${app.journal.dir:data/journal}") String directory,
+                          @Value("${app.journal.segment-size:67108864}") int segmentSize,
+                          @Value("${app.journal.snapshot-every:10000}") int snapshotEvery) {
+        this.counters = counters;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    @PostConstruct
+    synchronized void recover() throws IOException {
+        if (!enabled) {
+            loadFromDatabase();
+            return;
+        }
+        journal = EventJournal.open(directory, segmentSize);
+        journal.corruption().ifPresent(position -> log.error(
+                "Corrupted journal record at {} followed by valid records; segment left untouched, "
+                        + "appending to a new segment", position));
+        Optional<JournalSnapshot> snapshot = journal.latestSnapshot();
+        JournalPosition from = JournalPosition.START;
+        if (snapshot.isPresent()) {
+            counters.restore(snapshot.get().state());
+            from = snapshot.get().position();
+        } else if (journal.position().equals(JournalPosition.START)) {
+            loadFromDatabase();
+            journal.writeSnapshot(JournalPosition.START, counters.snapshot());
+            return;
+        }
+
+        long start = System.nanoTime();
+        EventJournal.ReplayResult result = journal.replay(from, counters::apply);
+        log.info("Replayed {} journal events from {} in {} ms",
+                result.events(), from, (System.nanoTime() - start) / 1_000_000);
+        if (result.corrupted()) {
+            // Les événements suivants ne sont pas rejoués : l'état repart de la base, et un
+            // snapshot immédiat évite de rejouer à nouveau jusqu'à la corruption
+            log.error("Journal replay stopped at corrupted record {}; reloading counters from the database",
+                    result.end());
+            loadFromDatabase();
+            journal.writeSnapshot(journal.position(), counters.snapshot());
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException, InterruptedException {
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(5, TimeUnit.SECONDS);
+        if (journal != null) {
+            journal.writeSnapshot(journal.position(), counters.snapshot());
+            journal.close();
+            journal = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        record(new JournalEvent(JournalEvent.Type.POST_CREATED, event.occurredAt().toEpochMilli(),
+                event.postId(), event.likesCount(), event.authorUsername()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostLiked(PostLikedEvent event) {
+        record(new JournalEvent(JournalEvent.Type.POST_LIKED, event.occurredAt().toEpochMilli(),
+                event.postId(), event.likesCount(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        record(new JournalEvent(JournalEvent.Type.USER_REGISTERED, event.occurredAt().toEpochMilli(),
+                event.userId(), 0, event.username()));
+    }
+
+    /**
+     * Applique puis journalise l'événement ; le verrou garantit que l'ordre du journal
+     * est celui dans lequel les compteurs ont évolué.
+     *
+     * Un événement que le journal n'a pas pu écrire est quand même appliqué : il est
+     * conservé par un snapshot demandé aussitôt (redemandé tant qu'il échoue).
+     */
+    private synchronized void record(JournalEvent event) {
+        counters.apply(event);
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(event);
+            sinceSnapshot++;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to journal {} event for id {}; counters applied, snapshot requested",
+                    event.type(), event.entityId(), e);
+            unjournaled.set(true);
+        }
+        // Un seul snapshot en cours : sinon on réessaie à l'événement suivant
+        if ((unjournaled.get() || sinceSnapshot >= snapshotEvery) && snapshotPending.compareAndSet(false, true)) {
+            EventJournal target = journal;
+            JournalPosition position = journal.position();
+            DomainCounters.State state = counters.copyState();
+            boolean covering = unjournaled.getAndSet(false);
+            sinceSnapshot = 0;
+            snapshotter.execute(() -> writeSnapshot(target, position, state, covering));
+        }
+    }
+
+    private void writeSnapshot(EventJournal target, JournalPosition position, DomainCounters.State state,
+                               boolean covering) {
+        try {
+            target.writeSnapshot(position, DomainCounters.serialize(state));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write journal snapshot at {}", position, e);
+            if (covering) {
+                // Les événements non journalisés ne sont toujours pas persistés
+                unjournaled.set(true);
+            }
+        } finally {
+            snapshotPending.set(false);
+        }
+    }
+
+    private void loadFromDatabase() {
+        // Deux agrégats par shard : posts et likes
+        List<long[]> totals = shardRouter.scatter(
+                shard -> new long[] {postRepository.count(), postRepository.sumLikes()});
+        counters.reset(userRepository.count(),
+                totals.stream().mapToLong(t -> t[0]).sum(),
+                totals.stream().mapToLong(t -> t[1]).sum());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.socialapp.journal;
+
+/**
+ * État sérialisé des structures en mémoire, valable jusqu'à {@code position} exclue.
+ */
+public record JournalSnapshot(JournalPosition position, byte[] state) {
+}
@@ -0,0 +1,12 @@
+package com.example.socialapp.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.socialapp.entity.Attachment;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, String> {
+
+    long countByHashIn(Collection<String> hashes);
+}
@@ -0,0 +1,28 @@
+package com.example.socialapp.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.socialapp.entity.FeedEntry;
+
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, Long> {
+
+    Page<FeedEntry> findAllByOrderByCreatedAtDescPostIdDesc(Pageable pageable);
+
+    // Lit size + 1 lignes pour savoir s'il reste une page, sans COUNT(*)
+    Slice<FeedEntry> findSliceByOrderByCreatedAtDescPostIdDesc(Pageable pageable);
+
+    /**
+     * N'augmente que le compteur : un événement ancien ou rejoué est sans effet.
+     */
+    @Modifying
+    @Transactional
+    @Query("update FeedEntry f set f.likesCount = :likesCount where f.postId = :postId and f.likesCount < :likesCount")
+    int applyLikesCount(@Param("postId") Long postId, @Param("likesCount") int likesCount);
+}
@@ -1,8 +1,66 @@
 package com.example.socialapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.socialapp.entity.Post;
 
+/**
+ * Accès aux posts du shard courant (voir {@code ShardRouter#onShard}).
+ *
+ * L'auteur n'est jamais joint : les utilisateurs vivent sur le shard principal et sont
+ * rattachés ensuite par {@code PostAuthorLoader}.
+ */
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    Page<Post> findAllBy(Pageable pageable);
+
+    Page<Post> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    // Pagination par curseur sur l'index (user_id, created_at DESC, id DESC)
+    List<Post> findByAuthorIdOrderByCreatedAtDescIdDesc(Long authorId, Limit limit);
+
+    @Query("""
+            select p from Post p
+            where p.authorId = :authorId
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Post> findByAuthorIdBefore(@Param("authorId") Long authorId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    // Agrégats utilisés une seule fois, pour initialiser les compteurs d'un auteur (user_stats)
+    long countByAuthorId(Long authorId);
+
+    @Query("select coalesce(sum(p.likesCount), 0) from Post p where p.authorId = :authorId")
+    long sumLikesByAuthorId(@Param("authorId") Long authorId);
+
+    // Total des likes du shard, pour initialiser les compteurs globaux (journal)
+    @Query("select coalesce(sum(p.likesCount), 0) from Post p")
+    long sumLikes();
+
+    // Like en une seule requête, sans charger l'entité ; 0 si le post n'existe pas
+    @Modifying
+    @Query("update Post p set p.likesCount = p.likesCount + 1 where p.id = :id")
+    int incrementLikes(@Param("id") Long id);
+
+    // Relecture après un like : auteur et compteur seulement, pas la ligne entière
+    Optional<PostLikeState> findLikeStateById(Long id);
+
+    interface PostLikeState {
+        Long getAuthorId();
+
+        int getLikesCount();
+    }
 }
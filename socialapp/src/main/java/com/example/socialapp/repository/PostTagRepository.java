@@ -0,0 +1,15 @@
+package com.example.socialapp.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.socialapp.entity.PostTag;
+
+public interface PostTagRepository extends JpaRepository<PostTag, Long> {
+
+    @Query("select t.postId from PostTag t where t.kind = :kind and t.value = :value order by t.createdAt desc, t.postId desc")
+    Page<Long> findPostIds(@Param("kind") PostTag.Kind kind, @Param("value") String value, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.example.socialapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.socialapp.entity.UserStats;
+
+/**
+ * Compteurs du shard courant ; les incréments s'exécutent dans la transaction de l'écriture.
+ */
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Modifying
+    @Query("update UserStats s set s.postCount = s.postCount + :count where s.userId = :userId")
+    int addPosts(@Param("userId") Long userId, @Param("count") long count);
+
+    @Modifying
+    @Query("update UserStats s set s.likesReceived = s.likesReceived + 1 where s.userId = :userId")
+    int addLike(@Param("userId") Long userId);
+
+    // INSERT explicite : échoue si la ligne existe déjà, là où save() la remplacerait
+    @Modifying
+    @Query(value = "insert into user_stats (user_id, post_count, likes_received) "
+            + "values (:userId, :postCount, :likesReceived)", nativeQuery = true)
+    void insert(@Param("userId") Long userId,
+                @Param("postCount") long postCount,
+                @Param("likesReceived") long likesReceived);
+}
@@ -0,0 +1,174 @@
+package com.example.socialapp.services.implementation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.example.socialapp.dto.AttachmentDto;
+import com.example.socialapp.entity.Attachment;
+import com.example.socialapp.exception.AttachmentTooLargeException;
+import com.example.socialapp.repository.AttachmentRepository;
+import com.example.socialapp.services.interfaces.IAttachmentService;
+
+/**
+ * Stockage local des attachements, adressé par le SHA-256 du contenu ({@code ab/cd/abcd...}).
+ *
+ * La copie passe par un buffer direct réutilisé : le contenu n'est jamais matérialisé en entier
+ * sur le tas, et la limite de taille est vérifiée à chaque bloc reçu.
+ */
+@Service
+public class AttachmentServiceImpl implements IAttachmentService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final AttachmentRepository attachmentRepository;
+    private final Path root;
+    private final long maxSize;
+
+    public AttachmentServiceImpl(AttachmentRepository attachmentRepository,
+                                 @Value("${app.attachments.dir:data/attachments}") String root,
+                                 @Value("${app.attachments.max-size:20971520}") long maxSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.root = Path.of(root);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public AttachmentDto upload(ReadableByteChannel body, String contentType, long declaredLength) {
+        if (declaredLength > maxSize) {
+            throw new AttachmentTooLargeException(maxSize);
+        }
+        // Vérifié avant d'écrire quoi que ce soit sur le disque
+        String mediaType = normalizeContentType(contentType);
+        try {
+            Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+            Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+            String hash;
+            long size = 0;
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (body.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxSize) {
+                        throw new AttachmentTooLargeException(maxSize);
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                if (size == 0) {
+                    throw new IllegalArgumentException("Attachment is empty");
+                }
+                out.force(true);
+                hash = HexFormat.of().formatHex(digest.digest());
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+
+            Path target = path(hash);
+            Files.createDirectories(target.getParent());
+            boolean created = false;
+            try {
+                if (Files.exists(target)) {
+                    Files.delete(tmp);
+                } else {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    created = true;
+                }
+            } catch (FileAlreadyExistsException e) {
+                // Envoi identique concurrent : le contenu est déjà en place
+                Files.deleteIfExists(tmp);
+            }
+            try {
+                return AttachmentDto.fromEntity(register(hash, size, mediaType));
+            } catch (RuntimeException e) {
+                // Sans métadonnées, le fichier écrit par cet envoi ne serait jamais servi ni nettoyé
+                if (created) {
+                    Files.deleteIfExists(target);
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store attachment", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Optional<Attachment> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        return attachmentRepository.findById(hash);
+    }
+
+    @Override
+    public Path path(Attachment attachment) {
+        return path(attachment.getHash());
+    }
+
+    private Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Attachment register(String hash, long size, String contentType) {
+        Optional<Attachment> existing = attachmentRepository.findById(hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            return attachmentRepository.save(Attachment.builder()
+                    .hash(hash)
+                    .size(size)
+                    .contentType(contentType)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return attachmentRepository.findById(hash).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Type MIME réduit à type/sous-type ; octet-stream s'il est absent ou illisible.
+     *
+     * @throws IllegalArgumentException s'il dépasse la colonne {@code content_type}
+     */
+    private static String normalizeContentType(String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        String value = mediaType.getType() + "/" + mediaType.getSubtype();
+        if (value.length() > Attachment.CONTENT_TYPE_LENGTH) {
+            throw new IllegalArgumentException("Content type too long");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.socialapp.services.implementation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.entity.FeedEntry;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.event.PostCreatedEvent;
+import com.example.socialapp.event.PostLikedEvent;
+import com.example.socialapp.repository.FeedEntryRepository;
+import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.services.interfaces.IFeedService;
+import com.example.socialapp.services.interfaces.IPostService;
+import com.example.socialapp.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintient et sert le modèle de lecture {@code feed_entries}.
+ *
+ * Tous les événements sont appliqués par un thread unique, dans l'ordre de publication.
+ * L'application est idempotente : un post déjà projeté est ignoré et le nombre de likes
+ * ne fait qu'augmenter, si bien qu'un rejeu ou une reconstruction n'altère pas l'état.
+ *
+ * La file du projecteur est bornée : un écrivain attend au plus {@code enqueueTimeoutMs}
+ * qu'une place se libère. Un événement qui n'a pas pu être mis en file ou appliqué n'est
+ * pas perdu : son post est noté puis re-projeté depuis la base à intervalle régulier.
+ * Au-delà de {@code maxFailed} posts en attente, la reprise reconstruit tout le modèle.
+ */
+@Slf4j
+@Service
+public class FeedServiceImpl implements IFeedService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final FeedEntryRepository feedEntryRepository;
+    private final PostRepository postRepository;
+    private final IPostService postService;
+    private final PostAuthorLoader postAuthorLoader;
+    private final ShardRouter shardRouter;
+    private final Timer lagTimer;
+    private final boolean readModelEnabled;
+    private final int maxFailed;
+
+    private final ThreadPoolExecutor projector;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "feed-projector-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Long> failedPostIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildRequired;
+
+    public FeedServiceImpl(FeedEntryRepository feedEntryRepository,
+                           PostRepository postRepository,
+                           IPostService postService,
+                           PostAuthorLoader postAuthorLoader,
+                           ShardRouter shardRouter,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.feed.read-model.enabled:true}") boolean readModelEnabled,
+                           @Value("${app.feed.projection.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.feed.projection.enqueue-timeout-ms:1000}") long enqueueTimeoutMs,
+                           @Value("${app.feed.projection.retry-interval:PT5S}") Duration retryInterval,
+                           @Value("${app.feed.projection.max-failed:100000}") int maxFailed) {
+        if (queueCapacity <= 0 || enqueueTimeoutMs < 0 || maxFailed <= 0
+                || retryInterval.isNegative() || retryInterval.isZero()) {
+            throw new IllegalArgumentException("Invalid feed projection configuration");
+        }
+        this.feedEntryRepository = feedEntryRepository;
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.postAuthorLoader = postAuthorLoader;
+        this.shardRouter = shardRouter;
+        this.readModelEnabled = readModelEnabled;
+        this.maxFailed = maxFailed;
+        // File pleine : l'écrivain attend une place (contre-pression), puis abandonne à la reprise
+        this.projector = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "feed-projector");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    try {
+                        if (executor.isShutdown()
+                                || !executor.getQueue().offer(task, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                            throw new RejectedExecutionException("Feed projection queue is full");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for the feed projection queue", e);
+                    }
+                });
+        this.lagTimer = Timer.builder("feed.projection.lag")
+                .description("Délai entre l'écriture d'un post/like et sa visibilité dans feed_entries")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("feed.projection.queue", projector, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("feed.projection.failed", failedPostIds, Set::size)
+                .description("Posts en attente de re-projection après un échec")
+                .register(meterRegistry);
+
+        long retryMillis = retryInterval.toMillis();
+        retryScheduler.scheduleWithFixedDelay(this::scheduleRetry, retryMillis, retryMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Page<PostResponseDto> getFeed(int page, int size) {
+        if (!readModelEnabled) {
+            return postService.getAllPosts(page, size).map(PostResponseDto::fromEntity);
+        }
+        return feedEntryRepository.findAllByOrderByCreatedAtDescPostIdDesc(PageRequest.of(page, size))
+                .map(FeedServiceImpl::toDto);
+    }
+
+    @Override
+    public Slice<PostResponseDto> getFeedSlice(int page, int size) {
+        if (!readModelEnabled) {
+            return postService.getAllPosts(page, size).map(PostResponseDto::fromEntity);
+        }
+        return feedEntryRepository.findSliceByOrderByCreatedAtDescPostIdDesc(PageRequest.of(page, size))
+                .map(FeedServiceImpl::toDto);
+    }
+
+    @Override
+    public long rebuild() {
+        try {
+            return projector.submit(this::reproject).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Feed rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Feed rebuild failed", e.getCause());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        enqueue(event.postId(), () -> apply(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostLiked(PostLikedEvent event) {
+        enqueue(event.postId(), () -> apply(event));
+    }
+
+    /**
+     * Amorce le modèle de lecture au premier démarrage sur une base déjà peuplée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeReadModel() {
+        if (readModelEnabled && feedEntryRepository.count() == 0
+                && shardRouter.scatter(shard -> postRepository.count()).stream().anyMatch(count -> count > 0)) {
+            projector.execute(this::reproject);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+        projector.shutdown();
+    }
+
+    /**
+     * Note un post à re-projeter depuis la base lors de la prochaine reprise.
+     */
+    void retryLater(Long postId) {
+        if (failedPostIds.size() >= maxFailed) {
+            rebuildRequired = true;
+        } else {
+            failedPostIds.add(postId);
+        }
+    }
+
+    private void enqueue(Long postId, Runnable projection) {
+        try {
+            projector.execute(projection);
+        } catch (RejectedExecutionException e) {
+            log.warn("Feed projection queue full, post {} will be re-projected later", postId);
+            retryLater(postId);
+        }
+    }
+
+    private void scheduleRetry() {
+        if (!rebuildRequired && failedPostIds.isEmpty()) {
+            return;
+        }
+        try {
+            projector.execute(this::retryFailed);
+        } catch (RejectedExecutionException e) {
+            // File pleine : nouvelle tentative au prochain passage
+        }
+    }
+
+    private void retryFailed() {
+        if (rebuildRequired) {
+            rebuildRequired = false;
+            failedPostIds.clear();
+            try {
+                reproject();
+            } catch (RuntimeException e) {
+                rebuildRequired = true;
+                log.error("Failed to rebuild feed_entries, will retry", e);
+            }
+            return;
+        }
+        List<Long> ids = failedPostIds.stream().limit(REBUILD_PAGE_SIZE).toList();
+        ids.forEach(failedPostIds::remove);
+        try {
+            // Les posts introuvables (supprimés) sont abandonnés
+            for (Post post : postService.getPostsByIds(ids)) {
+                if (feedEntryRepository.applyLikesCount(post.getId(), post.getLikesCount()) == 0
+                        && !feedEntryRepository.existsById(post.getId())) {
+                    feedEntryRepository.save(toEntry(post));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to re-project {} posts into feed_entries, will retry", ids.size(), e);
+            ids.forEach(this::retryLater);
+        }
+    }
+
+    private void apply(PostCreatedEvent event) {
+        try {
+            if (!feedEntryRepository.existsById(event.postId())) {
+                feedEntryRepository.save(FeedEntry.builder()
+                        .postId(event.postId())
+                        .authorUsername(event.authorUsername())
+                        .content(event.content())
+                        .createdAt(event.createdAt())
+                        .likesCount(event.likesCount())
+                        .attachmentHashes(event.attachmentHashes())
+                        .build());
+            }
+            recordLag(event.occurredAt());
+        } catch (RuntimeException e) {
+            log.error("Failed to project post {} into feed_entries, will retry", event.postId(), e);
+            retryLater(event.postId());
+        }
+    }
+
+    private void apply(PostLikedEvent event) {
+        try {
+            if (feedEntryRepository.applyLikesCount(event.postId(), event.likesCount()) == 0
+                    && !feedEntryRepository.existsById(event.postId())) {
+                // Le like a devancé la création dans la file : on projette le post tel qu'en base
+                postService.getPostsByIds(List.of(event.postId()))
+                        .forEach(post -> feedEntryRepository.save(toEntry(post)));
+            }
+            recordLag(event.occurredAt());
+        } catch (RuntimeException e) {
+            log.error("Failed to project like on post {} into feed_entries, will retry", event.postId(), e);
+            retryLater(event.postId());
+        }
+    }
+
+    private long reproject() {
+        long count = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            count += reprojectShard(shard);
+        }
+        log.info("Rebuilt feed_entries from {} posts", count);
+        return count;
+    }
+
+    private long reprojectShard(int shard) {
+        long count = 0;
+        Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        while (true) {
+            Pageable current = pageable;
+            Page<Post> page = shardRouter.onShard(shard, () -> postRepository.findAllBy(current));
+            List<FeedEntry> entries = postAuthorLoader.attach(page.getContent()).stream()
+                    .map(FeedServiceImpl::toEntry)
+                    .toList();
+            feedEntryRepository.saveAll(entries);
+            count += entries.size();
+            if (!page.hasNext()) {
+                return count;
+            }
+            pageable = page.nextPageable();
+        }
+    }
+
+    private void recordLag(Instant occurredAt) {
+        lagTimer.record(Duration.between(occurredAt, Instant.now()));
+    }
+
+    private static FeedEntry toEntry(Post post) {
+        return FeedEntry.builder()
+                .postId(post.getId())
+                .authorUsername(post.getAuthor() != null ? post.getAuthor().getUsername() : null)
+                .content(post.getContent())
+                .createdAt(post.getCreatedAt())
+                .likesCount(post.getLikesCount())
+                .attachmentHashes(post.getAttachmentHashes())
+                .build();
+    }
+
+    private static PostResponseDto toDto(FeedEntry entry) {
+        return PostResponseDto.builder()
+                .id(entry.getPostId())
+                .content(entry.getContent())
+                .createdAt(entry.getCreatedAt())
+                .likesCount(entry.getLikesCount())
+                .authorUsername(entry.getAuthorUsername())
+                .attachmentHashes(entry.getAttachmentHashes() != null ? entry.getAttachmentHashes() : List.of())
+                .build();
+    }
+}
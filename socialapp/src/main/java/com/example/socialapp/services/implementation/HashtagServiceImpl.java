@@ -0,0 +1,146 @@
+package com.example.socialapp.services.implementation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.socialapp.dto.HashtagCountDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.PostTag;
+import com.example.socialapp.event.PostCreatedEvent;
+import com.example.socialapp.hashtag.HashtagExtractor;
+import com.example.socialapp.hashtag.SlidingWindowCountMinSketch;
+import com.example.socialapp.repository.PostTagRepository;
+import com.example.socialapp.services.interfaces.IHashtagService;
+import com.example.socialapp.services.interfaces.IPostService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extraction des hashtags/mentions et classement des hashtags tendance.
+ *
+ * L'extraction tourne dans un pool borné, après le commit du post : la création n'attend
+ * jamais ce traitement. Si la file est pleine, le post n'est pas indexé et le compteur
+ * {@code hashtags.pipeline.dropped} est incrémenté plutôt que de ralentir l'écriture.
+ */
+@Slf4j
+@Service
+public class HashtagServiceImpl implements IHashtagService {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final PostTagRepository postTagRepository;
+    private final IPostService postService;
+    private final SlidingWindowCountMinSketch sketch;
+    private final ThreadPoolExecutor pipeline;
+    private final Counter dropped;
+
+    public HashtagServiceImpl(PostTagRepository postTagRepository,
+                              IPostService postService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.hashtags.pipeline.threads:2}") int threads,
+                              @Value("${app.hashtags.pipeline.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.hashtags.top.window:PT5M}") Duration window,
+                              @Value("${app.hashtags.top.buckets:10}") int buckets) {
+        this.postTagRepository = postTagRepository;
+        this.postService = postService;
+        this.sketch = new SlidingWindowCountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH, buckets,
+                window.toMillis(), MAX_CANDIDATES, System::currentTimeMillis);
+        this.dropped = Counter.builder("hashtags.pipeline.dropped")
+                .description("Posts non indexés car la file d'extraction était pleine")
+                .register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pipeline = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "hashtag-pipeline-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> dropped.increment());
+        Gauge.builder("hashtags.pipeline.queue", pipeline, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @Override
+    public Page<PostResponseDto> getPostsByHashtag(String hashtag, int page, int size) {
+        Page<Long> ids = postTagRepository.findPostIds(PostTag.Kind.HASHTAG,
+                HashtagExtractor.normalizeHashtag(hashtag), PageRequest.of(page, size));
+
+        Map<Long, Post> posts = postService.getPostsByIds(ids.getContent()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostResponseDto> content = ids.getContent().stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .map(PostResponseDto::fromEntity)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    @Override
+    public List<HashtagCountDto> getTopHashtags(int limit) {
+        return sketch.top(limit).stream()
+                .map(e -> new HashtagCountDto(e.key(), e.count()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        pipeline.execute(() -> process(event));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pipeline.shutdown();
+    }
+
+    private void process(PostCreatedEvent event) {
+        Set<String> hashtags = HashtagExtractor.hashtags(event.content());
+        Set<String> mentions = HashtagExtractor.mentions(event.content());
+        if (hashtags.isEmpty() && mentions.isEmpty()) {
+            return;
+        }
+
+        List<PostTag> tags = new ArrayList<>(hashtags.size() + mentions.size());
+        hashtags.forEach(tag -> tags.add(tag(event, PostTag.Kind.HASHTAG, tag)));
+        mentions.forEach(mention -> tags.add(tag(event, PostTag.Kind.MENTION, mention)));
+        try {
+            postTagRepository.saveAll(tags);
+            hashtags.forEach(sketch::add);
+        } catch (RuntimeException e) {
+            log.error("Failed to index tags of post {}", event.postId(), e);
+        }
+    }
+
+    private static PostTag tag(PostCreatedEvent event, PostTag.Kind kind, String value) {
+        return PostTag.builder()
+                .postId(event.postId())
+                .kind(kind)
+                .value(value)
+                .createdAt(event.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.socialapp.services.implementation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.shard.ShardRouter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rattache leurs auteurs aux posts lus sur un shard, en une requête sur le shard principal.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostAuthorLoader {
+
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+
+    public List<Post> attach(List<Post> posts) {
+        Set<Long> authorIds = posts.stream()
+                .map(Post::getAuthorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (authorIds.isEmpty()) {
+            return posts;
+        }
+        Map<Long, User> authors = shardRouter.onShard(ShardRouter.PRIMARY_SHARD,
+                () -> userRepository.findAllById(authorIds)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        posts.forEach(post -> post.setAuthor(authors.get(post.getAuthorId())));
+        return posts;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.socialapp.services.implementation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.socialapp.cache.BoundedCache;
+import com.example.socialapp.dto.PostResponseDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Cache des posts servis par id (GET /api/posts/{id} et GET /api/posts?ids=).
+ *
+ * Les créations et les likes écrivent dans le cache après leur commit. Les ids absents
+ * d'une lecture sont chargés en un seul appel au chargeur ; un id déjà en cours de
+ * chargement par un autre thread n'est pas rechargé, on attend son résultat (au plus
+ * {@code loadTimeout}).
+ * Le nombre de likes en cache ne fait qu'augmenter : un like committé avant un autre
+ * mais écrit après dans le cache ne fait pas reculer le compteur.
+ */
+@Component
+public class PostCache {
+
+    private final BoundedCache<Long, PostResponseDto> cache;
+    private final Map<Long, CompletableFuture<PostResponseDto>> loading = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+    private final long loadTimeoutMillis;
+
+    public PostCache(MeterRegistry meterRegistry,
+                     @Value("${app.posts.cache.max-size:100000}") int maxSize,
+                     @Value("${app.posts.cache.ttl:PT30S}") Duration ttl,
+                     @Value("${app.posts.cache.load-timeout:PT10S}") Duration loadTimeout) {
+        this.cache = new BoundedCache<>(maxSize, ttl, System::currentTimeMillis);
+        this.loadTimeoutMillis = loadTimeout.toMillis();
+        this.hits = Counter.builder("posts.cache.requests").tag("result", "hit")
+                .description("Posts lus par id trouvés dans le cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("posts.cache.requests").tag("result", "miss")
+                .description("Posts lus par id absents du cache")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("posts.cache.load")
+                .description("Durée d'un chargement des posts absents du cache (une requête IN par shard)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("posts.cache.hit.ratio", this, PostCache::hitRatio)
+                .description("Part des posts lus par id servis depuis le cache")
+                .register(meterRegistry);
+        Gauge.builder("posts.cache.size", cache, BoundedCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Renvoie les posts demandés, depuis le cache ou via {@code loader}.
+     *
+     * @param ids    identifiants demandés
+     * @param loader charge les posts des ids donnés en une fois ; les ids inconnus sont omis
+     * @return les posts trouvés, par id
+     */
+    public Map<Long, PostResponseDto> getAll(Collection<Long> ids,
+                                             Function<List<Long>, List<PostResponseDto>> loader) {
+        Map<Long, PostResponseDto> found = new HashMap<>();
+        Map<Long, CompletableFuture<PostResponseDto>> awaited = new HashMap<>();
+        Map<Long, CompletableFuture<PostResponseDto>> owned = new HashMap<>();
+        // Relevé avant toute lecture : une invalidation postérieure empêche la mise en cache
+        long stamp = cache.stamp();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            PostResponseDto cached = cache.get(id);
+            if (cached != null) {
+                hits.increment();
+                found.put(id, cached);
+                continue;
+            }
+            misses.increment();
+            CompletableFuture<PostResponseDto> future = new CompletableFuture<>();
+            CompletableFuture<PostResponseDto> existing = loading.putIfAbsent(id, future);
+            if (existing != null) {
+                awaited.put(id, existing);
+            } else {
+                owned.put(id, future);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            load(owned, stamp, loader);
+            awaited.putAll(owned);
+        }
+        awaited.forEach((id, future) -> {
+            PostResponseDto post = join(future);
+            if (post != null) {
+                found.put(id, post);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Écriture traversante d'un post créé.
+     */
+    public void put(PostResponseDto post) {
+        cache.put(post.getId(), post);
+    }
+
+    /**
+     * Écriture traversante d'un like.
+     *
+     * @param likesCount nombre de likes après le like, lu dans sa transaction
+     * @return le post en cache avec ce nombre de likes, ou null si le post n'est pas en cache
+     */
+    public PostResponseDto liked(Long postId, int likesCount) {
+        PostResponseDto updated = cache.computeIfPresent(postId, cached -> cached.getLikesCount() >= likesCount
+                ? cached
+                : cached.toBuilder().likesCount(likesCount).build());
+        if (updated == null) {
+            // Un chargement en cours a pu lire le post avant ce like : il ne sera pas mis en cache
+            cache.invalidate(postId);
+            return null;
+        }
+        return updated.toBuilder().likesCount(likesCount).build();
+    }
+
+    private void load(Map<Long, CompletableFuture<PostResponseDto>> owned, long stamp,
+                      Function<List<Long>, List<PostResponseDto>> loader) {
+        try {
+            List<PostResponseDto> loaded = loadTimer.record(() -> loader.apply(new ArrayList<>(owned.keySet())));
+            Map<Long, PostResponseDto> byId = new HashMap<>();
+            loaded.forEach(post -> byId.put(post.getId(), post));
+            owned.forEach((id, future) -> {
+                PostResponseDto post = byId.get(id);
+                if (post != null) {
+                    // Ignoré si une écriture a invalidé l'id pendant le chargement
+                    cache.putIfNotInvalidated(id, post, stamp);
+                }
+                loading.remove(id, future);
+                future.complete(post);
+            });
+        } catch (Throwable e) {
+            // Error compris : les lecteurs en attente ne doivent pas rester bloqués
+            owned.forEach((id, future) -> {
+                loading.remove(id, future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+    }
+
+    private PostResponseDto join(CompletableFuture<PostResponseDto> future) {
+        try {
+            return future.get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Post load failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for a concurrent post load", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent post load", e);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
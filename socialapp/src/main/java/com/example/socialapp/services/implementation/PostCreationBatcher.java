@@ -0,0 +1,272 @@
+package com.example.socialapp.services.implementation;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.StringListConverter;
+import com.example.socialapp.shard.PostIdAllocator;
+import com.example.socialapp.shard.ShardRouter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Regroupe les créations de posts concurrentes ("group commit").
+ *
+ * Les appelants déposent leur post dans une file ; un thread unique attend au plus
+ * {@code lingerMs} millisecondes ou {@code maxSize} posts, puis insère le lot avec
+ * un INSERT batché en JDBC (une seule requête multi-lignes avec reWriteBatchedInserts sur
+ * PostgreSQL) et un commit par shard, qui met aussi à jour les compteurs des auteurs
+ * (user_stats). Les ids viennent de la séquence du shard, par blocs
+ * ({@link PostIdAllocator}). Chaque appelant reste bloqué jusqu'au commit de son lot et
+ * récupère son post avec l'id généré ; au-delà de {@code timeoutMs} millisecondes, un post
+ * encore dans la file est retiré et l'appel échoue, un post déjà pris par le worker est
+ * attendu jusqu'au commit (ou à l'échec) de son lot.
+ */
+@Component
+public class PostCreationBatcher {
+
+    private static final String INSERT_SQL = "INSERT INTO posts "
+            + "(id, content, created_at, user_id, likes_count, attachment_hashes) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final StringListConverter ATTACHMENT_HASHES = new StringListConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostIdAllocator postIdAllocator;
+    private final ShardRouter shardRouter;
+    private final UserStatsStore userStatsStore;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long lingerMs;
+    private final long timeoutMs;
+    private final DistributionSummary batchSizes;
+
+    private final BlockingQueue<PendingPost> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    public PostCreationBatcher(JdbcTemplate jdbcTemplate,
+                               PostIdAllocator postIdAllocator,
+                               ShardRouter shardRouter,
+                               UserStatsStore userStatsStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.posts.batch.enabled:false}") boolean enabled,
+                               @Value("${app.posts.batch.max-size:64}") int maxSize,
+                               @Value("${app.posts.batch.linger-ms:5}") long lingerMs,
+                               @Value("${app.posts.batch.timeout-ms:10000}") long timeoutMs) {
+        if (maxSize <= 0 || lingerMs < 0 || timeoutMs <= 0) {
+            throw new IllegalArgumentException("Invalid post batch configuration");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.postIdAllocator = postIdAllocator;
+        this.shardRouter = shardRouter;
+        this.userStatsStore = userStatsStore;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.lingerMs = lingerMs;
+        this.timeoutMs = timeoutMs;
+        this.batchSizes = DistributionSummary.builder("posts.batch.size")
+                .description("Nombre de posts insérés par lot et par shard")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "post-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Posts que le worker n'a pas pris avant de s'arrêter : leurs appelants ne restent pas bloqués
+        List<PendingPost> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(p -> p.result().completeExceptionally(
+                new IllegalStateException("Post batcher is not running")));
+    }
+
+    /**
+     * Soumet un post au prochain lot et attend son commit.
+     *
+     * @param post post non persisté (id null), auteur renseigné
+     * @return le même post avec son id généré
+     * @throws IllegalStateException si le batcher est arrêté ou si le post n'a pas été pris dans un lot à temps
+     * @throws RuntimeException      si l'insertion du lot échoue
+     */
+    public Post submit(Post post) {
+        PendingPost pending = new PendingPost(post, new CompletableFuture<>());
+        queue.add(pending);
+        // Vérifié après l'ajout : si le worker est sorti entre-temps, le post est encore dans la file
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Post batcher is not running");
+        }
+        try {
+            return pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                // Pas encore pris par le worker : retiré, il ne sera jamais inséré
+                throw new IllegalStateException("Post batch insert timed out", e);
+            }
+            // Déjà dans un lot en cours : échouer ferait réessayer l'appelant et doublerait le post
+            return awaitInFlight(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(pending)) {
+                throw new IllegalStateException("Interrupted while waiting for post batch", e);
+            }
+            return awaitInFlight(pending);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    // Le worker complète toujours le résultat d'un lot qu'il a pris, qu'il soit committé ou non
+    private static Post awaitInFlight(PendingPost pending) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    return pending.result().get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw failure(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new RuntimeException("Post batch insert failed", e.getCause());
+    }
+
+    private void runLoop() {
+        List<PendingPost> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPost first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPost next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Arrêt demandé : on vide ce qui reste dans la file avant de sortir
+                queue.drainTo(batch, maxSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPost> batch) {
+        Map<Integer, List<PendingPost>> byShard = batch.stream()
+                .collect(Collectors.groupingBy(p -> shardRouter.shardForAuthor(p.post().getAuthor().getId())));
+        byShard.forEach(this::flush);
+    }
+
+    private void flush(int shard, List<PendingPost> batch) {
+        List<Post> posts = batch.stream().map(PendingPost::post).toList();
+        // Compteurs mis à jour par auteur, dans l'ordre des ids : deux lots concurrents
+        // verrouillent les lignes user_stats dans le même ordre
+        Map<Long, Long> postsByAuthor = posts.stream()
+                .collect(Collectors.groupingBy(p -> p.getAuthor().getId(), TreeMap::new, Collectors.counting()));
+        try {
+            userStatsStore.write(shard, status -> {
+                insertAll(shard, posts);
+                userStatsStore.recordPosts(postsByAuthor);
+                return null;
+            }, () -> posts.forEach(p -> p.setId(null)));
+            batchSizes.record(posts.size());
+            posts.stream().map(p -> p.getAuthor().getUsername()).distinct().forEach(userStatsStore::evict);
+            batch.forEach(p -> p.result().complete(p.post()));
+        } catch (RuntimeException e) {
+            batch.forEach(p -> {
+                p.post().setId(null);
+                p.result().completeExceptionally(e);
+            });
+        }
+    }
+
+    private void insertAll(int shard, List<Post> posts) {
+        posts.forEach(p -> p.setId(postIdAllocator.next(shard)));
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Post post = posts.get(i);
+                ps.setLong(1, post.getId());
+                ps.setString(2, post.getContent());
+                ps.setTimestamp(3, Timestamp.valueOf(post.getCreatedAt()));
+                ps.setLong(4, post.getAuthor().getId());
+                ps.setInt(5, post.getLikesCount());
+                String hashes = ATTACHMENT_HASHES.convertToDatabaseColumn(post.getAttachmentHashes());
+                if (hashes == null) {
+                    ps.setNull(6, Types.VARCHAR);
+                } else {
+                    ps.setString(6, hashes);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return posts.size();
+            }
+        });
+    }
+
+    private record PendingPost(Post post, CompletableFuture<Post> result) {
+    }
+}
@@ -1,17 +1,38 @@
 package com.example.socialapp.services.implementation;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.example.socialapp.dto.PostCursor;
+import com.example.socialapp.dto.PostCursorPageDto;
 import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostResponseDto;
 import com.example.socialapp.entity.Post;
 import com.example.socialapp.entity.User;
+import com.example.socialapp.event.PostCreatedEvent;
+import com.example.socialapp.event.PostLikedEvent;
+import com.example.socialapp.repository.AttachmentRepository;
 import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.repository.PostRepository.PostLikeState;
 import com.example.socialapp.repository.UserRepository;
 import com.example.socialapp.services.interfaces.IPostService;
+import com.example.socialapp.shard.KWayMerge;
+import com.example.socialapp.shard.ShardRouter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,34 +40,156 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PostServiceImpl implements IPostService {
 
+    // Ordre du fil : le plus récent d'abord, l'id départage les posts créés au même instant
+    private static final Comparator<Post> NEWEST_FIRST =
+            Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId).reversed();
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final PostCreationBatcher postCreationBatcher;
+    private final PostAuthorLoader postAuthorLoader;
+    private final UserStatsStore userStatsStore;
+    private final PostCache postCache;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Post createPost(PostDto dto, String username) {
         User author = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        List<String> attachmentHashes = dto.getAttachmentHashes() != null
+                ? dto.getAttachmentHashes().stream().distinct().toList()
+                : List.of();
+        if (!attachmentHashes.isEmpty()
+                && attachmentRepository.countByHashIn(attachmentHashes) != attachmentHashes.size()) {
+            throw new IllegalArgumentException("Unknown attachment");
+        }
+
         Post post = Post.builder()
                 .content(dto.getContent())
                 .createdAt(LocalDateTime.now())
                 .author(author)
                 .likesCount(0)
+                .attachmentHashes(attachmentHashes)
                 .build();
 
-        return postRepository.save(post);
+        // Mode "group commit" : le post part dans le prochain lot d'INSERT de son shard
+        Post saved = postCreationBatcher.isEnabled()
+                ? postCreationBatcher.submit(post)
+                : userStatsStore.write(shardRouter.shardForAuthor(author.getId()), status -> {
+                    Post persisted = postRepository.save(post);
+                    userStatsStore.recordPosts(author.getId(), 1);
+                    return persisted;
+                }, () -> post.setId(null));
+        userStatsStore.evict(author.getUsername());
+        postCache.put(PostResponseDto.fromEntity(saved));
+
+        eventPublisher.publishEvent(PostCreatedEvent.of(saved));
+        return saved;
     }
 
     @Override
     public Page<Post> getAllPosts(int page, int size) {
-        return postRepository.findAll(PageRequest.of(page, size));
+        Pageable pageable = PageRequest.of(page, size);
+        // Chaque shard renvoie ses posts les plus récents jusqu'à la fin de la page demandée
+        Pageable head = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + size));
+        List<Page<Post>> shardPages = shardRouter.scatter(
+                shard -> postRepository.findAllByOrderByCreatedAtDescIdDesc(head));
+
+        List<Post> content = KWayMerge.merge(
+                shardPages.stream().map(Page::getContent).toList(),
+                NEWEST_FIRST, pageable.getOffset(), size);
+        long total = shardPages.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(postAuthorLoader.attach(content), pageable, total);
+    }
+
+    @Override
+    public PostCursorPageDto getAuthorTimeline(String username, String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid page size");
+        }
+        PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+        User author = userRepository.findByUsername(username)
+                .orElseThrow(() -> new NoSuchElementException("User not found"));
+
+        // Un post de plus que demandé : indique s'il existe une page suivante
+        Limit limit = Limit.of(size + 1);
+        List<Post> posts = shardRouter.onShard(shardRouter.shardForAuthor(author.getId()), () -> after == null
+                ? postRepository.findByAuthorIdOrderByCreatedAtDescIdDesc(author.getId(), limit)
+                : postRepository.findByAuthorIdBefore(author.getId(), after.createdAt(), after.id(), limit));
+
+        boolean hasNext = posts.size() > size;
+        List<Post> page = hasNext ? posts.subList(0, size) : posts;
+        page.forEach(post -> post.setAuthor(author));
+        return new PostCursorPageDto(
+                page.stream().map(PostResponseDto::fromEntity).toList(),
+                hasNext ? PostCursor.after(page.get(size - 1)).encode() : null);
     }
 
     @Override
-    public Post likePost(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        post.setLikesCount(post.getLikesCount() + 1);
-        return postRepository.save(post);
+    public List<Post> getPostsByIds(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .distinct()
+                .filter(id -> shardRouter.isKnownShard(ShardRouter.shardOf(id)))
+                .collect(Collectors.groupingBy(ShardRouter::shardOf));
+        if (idsByShard.isEmpty()) {
+            return List.of();
+        }
+        List<Post> posts = shardRouter.scatter(idsByShard.keySet(),
+                        shard -> postRepository.findAllById(idsByShard.get(shard)))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+        return postAuthorLoader.attach(posts);
+    }
+
+    @Override
+    public Optional<PostResponseDto> getPost(Long id) {
+        return Optional.ofNullable(postCache.getAll(List.of(id), this::loadPosts).get(id));
+    }
+
+    @Override
+    public List<PostResponseDto> getPosts(List<Long> ids) {
+        Map<Long, PostResponseDto> found = postCache.getAll(ids, this::loadPosts);
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public PostResponseDto likePost(Long postId) {
+        int shard = ShardRouter.shardOf(postId);
+        if (!shardRouter.isKnownShard(shard)) {
+            throw new RuntimeException("Post not found");
+        }
+        // UPDATE atomique puis relecture de l'auteur et du compteur sur la ligne verrouillée
+        PostLikeState state = userStatsStore.write(shard, status -> {
+            if (postRepository.incrementLikes(postId) == 0) {
+                throw new RuntimeException("Post not found");
+            }
+            PostLikeState row = postRepository.findLikeStateById(postId)
+                    .orElseThrow(() -> new RuntimeException("Post not found"));
+            userStatsStore.recordLike(row.getAuthorId());
+            return row;
+        }, () -> { });
+
+        PostResponseDto liked = postCache.liked(postId, state.getLikesCount());
+        if (liked == null) {
+            // Absent du cache : chargé une fois par le chemin de lecture, qui le met en cache
+            liked = getPost(postId).orElseThrow(() -> new RuntimeException("Post not found"));
+        }
+        userStatsStore.evict(liked.getAuthorUsername());
+
+        eventPublisher.publishEvent(PostLikedEvent.of(postId, state.getLikesCount()));
+        return liked;
+    }
+
+    // Chargement des posts absents du cache : une requête IN par shard concerné
+    private List<PostResponseDto> loadPosts(List<Long> ids) {
+        return getPostsByIds(ids).stream().map(PostResponseDto::fromEntity).toList();
     }
 }
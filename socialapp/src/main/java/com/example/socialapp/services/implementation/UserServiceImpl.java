@@ -1,12 +1,20 @@
 package com.example.socialapp.services.implementation;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.socialapp.dto.UserDto;
+import com.example.socialapp.dto.UserProfileDto;
 import com.example.socialapp.entity.User;
+import com.example.socialapp.event.UserRegisteredEvent;
 import com.example.socialapp.repository.UserRepository;
 import com.example.socialapp.services.interfaces.IUserService;
+import com.example.socialapp.username.UsernameIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -16,6 +24,9 @@ public class UserServiceImpl implements IUserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameIndex usernameIndex;
+    private final UserStatsStore userStatsStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Enregistre un nouvel utilisateur à partir des données fournies dans le DTO.
@@ -31,8 +42,9 @@ public class UserServiceImpl implements IUserService {
      */
     @Override
     public boolean register(UserDto dto) {
-        // Vérifie si le username est déjà pris
-        if (userRepository.existsByUsername(dto.getUsername())) {
+        // Vérifie si le username est déjà pris ; la base n'est interrogée que si l'index
+        // ne peut pas garantir que le nom est libre
+        if (usernameIndex.mightExist(dto.getUsername()) && userRepository.existsByUsername(dto.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
 
@@ -41,18 +53,36 @@ public class UserServiceImpl implements IUserService {
                 .username(dto.getUsername())
                 .password(passwordEncoder.encode(dto.getPassword()))
                 .build();
-                
-        User saved = userRepository.save(user);
-        // Vérification basique : save doit retourner une entité non nulle et avec un id généré
-        if (saved == null || saved.getId() == null) {
-            throw new IllegalStateException("Échec de l'enregistrement de l'utilisateur");
+
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Inscrit entre-temps (ou par une autre instance) : la contrainte d'unicité tranche.
+            // Toute autre violation (nom trop long...) n'est pas un doublon et remonte telle quelle
+            if (!userRepository.existsByUsername(dto.getUsername())) {
+                throw e;
+            }
+            usernameIndex.add(dto.getUsername());
+            throw new IllegalArgumentException("Username already exists");
         }
-        
-        // Optionnel : double-vérification via le repository
-        if (!userRepository.existsById(saved.getId())) {
-            throw new IllegalStateException("L'utilisateur n'a pas été persisté en base");
+        // Vérification basique : save doit retourner une entité avec un id généré
+        if (saved.getId() == null) {
+            throw new IllegalStateException("Échec de l'enregistrement de l'utilisateur");
         }
-        
+
+        eventPublisher.publishEvent(UserRegisteredEvent.of(saved));
+
         return true;
     }
+
+    @Override
+    public List<String> searchUsernames(String prefix, int limit) {
+        return usernameIndex.search(prefix, limit);
+    }
+
+    @Override
+    public Optional<UserProfileDto> getProfile(String username) {
+        return userStatsStore.profile(username);
+    }
 }
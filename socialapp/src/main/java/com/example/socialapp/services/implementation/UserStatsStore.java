@@ -0,0 +1,186 @@
+package com.example.socialapp.services.implementation;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+
+import com.example.socialapp.cache.BoundedCache;
+import com.example.socialapp.dto.UserProfileDto;
+import com.example.socialapp.entity.UserStats;
+import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.repository.UserStatsRepository;
+import com.example.socialapp.shard.ShardRouter;
+
+/**
+ * Compteurs de profil (nombre de posts, likes reçus) et cache des profils consultés.
+ *
+ * Les compteurs sont incrémentés dans la transaction qui crée le post ou ajoute le like,
+ * sur le shard de l'auteur. La ligne d'un auteur est créée à la première écriture ou
+ * consultation, à partir d'un COUNT/SUM fait une seule fois. Les écritures invalident le
+ * profil en cache une fois committées (voir {@link #evict}).
+ */
+@Component
+public class UserStatsStore {
+
+    private static final String ADD_POSTS_SQL =
+            "UPDATE user_stats SET post_count = post_count + ? WHERE user_id = ?";
+    // SQLSTATE unique_violation (PostgreSQL comme H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final UserStatsRepository statsRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final BoundedCache<String, UserProfileDto> profiles;
+
+    public UserStatsStore(UserStatsRepository statsRepository,
+                          PostRepository postRepository,
+                          UserRepository userRepository,
+                          ShardRouter shardRouter,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${app.users.profile-cache.max-size:10000}") int maxSize,
+                          @Value("${app.users.profile-cache.ttl:PT30S}") Duration ttl) {
+        this.statsRepository = statsRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.profiles = new BoundedCache<>(maxSize, ttl, System::currentTimeMillis);
+    }
+
+    /**
+     * Exécute une écriture qui met à jour des compteurs dans une transaction sur {@code shard}.
+     *
+     * Si deux transactions créent en même temps la ligne du même auteur, la seconde échoue
+     * sur la clé primaire de user_stats : elle est rejouée une fois, après {@code onRollback}
+     * qui remet les entités dans leur état d'avant la transaction (ids générés notamment).
+     * Toute autre violation de contrainte est propagée telle quelle.
+     */
+    public <T> T write(int shard, TransactionCallback<T> action, Runnable onRollback) {
+        try {
+            return shardRouter.inTransaction(shard, action);
+        } catch (StatsRowExistsException e) {
+            onRollback.run();
+            return shardRouter.inTransaction(shard, action);
+        }
+    }
+
+    /**
+     * Ajoute {@code count} posts à l'auteur ; à appeler dans la transaction qui les insère.
+     */
+    public void recordPosts(Long authorId, long count) {
+        if (statsRepository.addPosts(authorId, count) == 0) {
+            initialize(authorId);
+        }
+    }
+
+    /**
+     * Ajoute des posts à plusieurs auteurs en un seul UPDATE batché ; à appeler dans la
+     * transaction qui les insère. Les lignes sont mises à jour dans l'ordre de la map
+     * (triée par id pour que deux lots concurrents verrouillent dans le même ordre).
+     */
+    public void recordPosts(Map<Long, Long> postsByAuthor) {
+        List<Long> authorIds = new ArrayList<>(postsByAuthor.keySet());
+        List<Object[]> args = authorIds.stream()
+                .map(authorId -> new Object[] {postsByAuthor.get(authorId), authorId})
+                .toList();
+        int[] updated = jdbcTemplate.batchUpdate(ADD_POSTS_SQL, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                initialize(authorIds.get(i));
+            }
+        }
+    }
+
+    /**
+     * Ajoute un like reçu par l'auteur ; à appeler dans la transaction qui incrémente le post.
+     */
+    public void recordLike(Long authorId) {
+        if (statsRepository.addLike(authorId) == 0) {
+            initialize(authorId);
+        }
+    }
+
+    /**
+     * Retire le profil du cache ; à appeler après le commit d'une écriture sur ses compteurs.
+     */
+    public void evict(String username) {
+        profiles.invalidate(username);
+    }
+
+    public Optional<UserProfileDto> profile(String username) {
+        return Optional.ofNullable(profiles.getOrLoad(username, this::loadProfile));
+    }
+
+    private UserProfileDto loadProfile(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> {
+                    int shard = shardRouter.shardForAuthor(user.getId());
+                    UserStats stats = shardRouter.onShard(shard, () -> statsRepository.findById(user.getId()))
+                            .orElseGet(() -> initializeOnShard(shard, user.getId()));
+                    return UserProfileDto.builder()
+                            .username(user.getUsername())
+                            .postCount(stats.getPostCount())
+                            .likesReceived(stats.getLikesReceived())
+                            .build();
+                })
+                .orElse(null);
+    }
+
+    private UserStats initializeOnShard(int shard, Long userId) {
+        try {
+            return shardRouter.inTransaction(shard, status -> initialize(userId));
+        } catch (StatsRowExistsException e) {
+            // Créée entre-temps par une écriture ou une autre consultation
+            return shardRouter.onShard(shard, () -> statsRepository.findById(userId))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    // Le COUNT/SUM voit les écritures non committées de la transaction courante (flush automatique)
+    private UserStats initialize(Long authorId) {
+        UserStats stats = UserStats.builder()
+                .userId(authorId)
+                .postCount(postRepository.countByAuthorId(authorId))
+                .likesReceived(postRepository.sumLikesByAuthorId(authorId))
+                .build();
+        try {
+            statsRepository.insert(stats.getUserId(), stats.getPostCount(), stats.getLikesReceived());
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            throw new StatsRowExistsException(e);
+        }
+        return stats;
+    }
+
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * La ligne de l'auteur a été insérée par une transaction concurrente : seul cas rejoué.
+     */
+    static final class StatsRowExistsException extends RuntimeException {
+        StatsRowExistsException(DataIntegrityViolationException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.socialapp.services.interfaces;
+
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.example.socialapp.dto.AttachmentDto;
+import com.example.socialapp.entity.Attachment;
+
+public interface IAttachmentService {
+
+    /**
+    * Enregistre le contenu lu sur {@code body} dans le stockage adressé par contenu.
+    *
+    * Le contenu est copié par blocs vers un fichier temporaire tout en calculant son SHA-256,
+    * puis déplacé sous son hash. Un contenu déjà connu n'est pas dupliqué.
+    *
+    * @param body           flux du corps de la requête, non null
+    * @param contentType    type MIME déclaré par le client, peut être null
+    * @param declaredLength taille annoncée (Content-Length), -1 si inconnue
+    * @return l'attachement stocké
+    * @throws com.example.socialapp.exception.AttachmentTooLargeException si la taille maximale est dépassée,
+    *         avant ou pendant la copie
+    * @throws IllegalArgumentException si le contenu est vide ou si le type MIME est trop long
+    */
+    AttachmentDto upload(ReadableByteChannel body, String contentType, long declaredLength);
+
+    /**
+    * Recherche un attachement par son hash ; un hash mal formé donne un résultat vide.
+    */
+    Optional<Attachment> find(String hash);
+
+    /**
+    * Chemin du fichier stockant le contenu d'un attachement existant.
+    */
+    Path path(Attachment attachment);
+}
@@ -0,0 +1,41 @@
+package com.example.socialapp.services.interfaces;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.example.socialapp.dto.PostResponseDto;
+
+public interface IFeedService {
+
+    /**
+    * Récupère une page du fil d'actualité, du post le plus récent au plus ancien.
+    *
+    * Lorsque le modèle de lecture est activé, la page est lue dans la table dénormalisée
+    * {@code feed_entries} ; elle peut donc avoir quelques millisecondes de retard sur les écritures.
+    *
+    * @param page index de la page à récupérer (zero-based), doit être >= 0
+    * @param size nombre d'éléments par page, doit être > 0
+    * @return Page de posts prêts à être renvoyés au client ; ne doit pas être null
+    */
+    Page<PostResponseDto> getFeed(int page, int size);
+
+    /**
+    * Comme {@link #getFeed(int, int)}, sans le nombre total de posts : évite la requête COUNT
+    * pour les clients qui n'affichent qu'un défilement infini.
+    *
+    * @param page index de la page à récupérer (zero-based), doit être >= 0
+    * @param size nombre d'éléments par page, doit être > 0
+    * @return tranche de posts indiquant s'il existe une page suivante ; ne doit pas être null
+    */
+    Slice<PostResponseDto> getFeedSlice(int page, int size);
+
+    /**
+    * Reconstruit le modèle de lecture à partir de la table {@code posts}.
+    *
+    * La reconstruction passe par la même file que les événements : ceux reçus pendant
+    * l'opération sont appliqués après elle, dans l'ordre.
+    *
+    * @return nombre d'entrées réécrites
+    */
+    long rebuild();
+}
@@ -0,0 +1,35 @@
+package com.example.socialapp.services.interfaces;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.example.socialapp.dto.HashtagCountDto;
+import com.example.socialapp.dto.PostResponseDto;
+
+public interface IHashtagService {
+
+    /**
+    * Récupère les posts contenant un hashtag, du plus récent au plus ancien.
+    *
+    * Les hashtags sont extraits de façon asynchrone après la création du post :
+    * un post tout juste créé peut ne pas encore apparaître.
+    *
+    * @param hashtag hashtag recherché, avec ou sans '#', insensible à la casse
+    * @param page    index de la page à récupérer (zero-based), doit être >= 0
+    * @param size    nombre d'éléments par page, doit être > 0
+    * @return Page de posts ; vide si le hashtag est inconnu
+    */
+    Page<PostResponseDto> getPostsByHashtag(String hashtag, int page, int size);
+
+    /**
+    * Renvoie les hashtags les plus utilisés sur la fenêtre glissante courante.
+    *
+    * Les nombres d'occurrences sont des estimations (count-min sketch) : ils peuvent
+    * être légèrement surestimés, jamais sous-estimés.
+    *
+    * @param limit nombre maximal de hashtags renvoyés, doit être > 0
+    * @return hashtags triés par nombre d'occurrences décroissant
+    */
+    List<HashtagCountDto> getTopHashtags(int limit);
+}
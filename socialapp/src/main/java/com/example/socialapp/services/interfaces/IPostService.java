@@ -1,8 +1,14 @@
 package com.example.socialapp.services.interfaces;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 
+import com.example.socialapp.dto.PostCursorPageDto;
 import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostResponseDto;
 import com.example.socialapp.entity.Post;
 
 public interface IPostService {
@@ -27,10 +33,12 @@ public interface IPostService {
     Post createPost(PostDto dto, String username);
 
     /**
-    * Récupère une page de posts triés selon l'implémentation (ex. par date de création).
+    * Récupère une page de posts, du plus récent au plus ancien (createdAt puis id décroissants).
     *
     * Remarques :
     * - Les index de page sont zero-based (0 correspond à la première page).
+    * - Tous les shards sont interrogés en parallèle puis fusionnés : le coût croît avec
+    *   l'index de page (chaque shard renvoie (page + 1) * size posts).
     * - La méthode doit retourner un Page non null ; la page peut être vide si aucun élément.
     *
     * @param page index de la page à récupérer (zero-based), doit être >= 0
@@ -41,7 +49,48 @@ public interface IPostService {
     Page<Post> getAllPosts(int page, int size);
 
     /**
-    * Enregistre un "like" sur le post identifié par postId et retourne l'entité mise à jour.
+    * Récupère les posts d'un auteur, du plus récent au plus ancien, paginés par curseur.
+    *
+    * Chaque page est lue sur l'index (auteur, createdAt, id) à partir du dernier post de la
+    * page précédente : le coût ne dépend pas de la profondeur de la pagination.
+    *
+    * @param username nom d'utilisateur de l'auteur, non null
+    * @param cursor   curseur renvoyé par la page précédente, ou null pour la première page
+    * @param size     nombre d'éléments par page, doit être > 0
+    * @return la page, avec le curseur de la suivante (null s'il n'y en a pas)
+    * @throws java.util.NoSuchElementException si l'utilisateur n'existe pas
+    * @throws IllegalArgumentException         si le curseur est invalide
+    */
+    PostCursorPageDto getAuthorTimeline(String username, String cursor, int size);
+
+    /**
+    * Récupère les posts correspondant aux ids donnés, auteur renseigné.
+    * Chaque shard concerné (encodé dans l'id) est interrogé une fois, en parallèle.
+    *
+    * @param ids identifiants des posts, non null ; les ids inconnus sont ignorés
+    * @return les posts trouvés, sans ordre garanti
+    */
+    List<Post> getPostsByIds(Collection<Long> ids);
+
+    /**
+    * Récupère un post par son id, depuis le cache des posts si possible.
+    *
+    * @param id identifiant du post, non null
+    * @return le post, ou Optional.empty() s'il n'existe pas
+    */
+    Optional<PostResponseDto> getPost(Long id);
+
+    /**
+    * Récupère plusieurs posts par id, depuis le cache des posts si possible.
+    * Les ids absents du cache sont chargés ensemble (une requête IN par shard concerné).
+    *
+    * @param ids identifiants des posts, non null
+    * @return les posts trouvés, dans l'ordre des ids demandés ; les ids inconnus et les doublons sont omis
+    */
+    List<PostResponseDto> getPosts(List<Long> ids);
+
+    /**
+    * Enregistre un "like" sur le post identifié par postId et retourne le post mis à jour.
     *
     * Comportement possible :
     * - Incrémentation d'un compteur de likes,
@@ -51,10 +100,13 @@ public interface IPostService {
     * Préconditions :
     * - postId ne doit pas être null.
     *
+    * Implémentation : incrément atomique du compteur en base (UPDATE), sans charger l'entité ;
+    * le post en cache est mis à jour avec le nouveau compteur, sinon il est chargé puis mis en cache.
+    *
     * @param postId identifiant du post à liker, non null
-    * @return le Post mis à jour après l'opération de like
+    * @return le post avec son nombre de likes après l'opération
     * @throws IllegalArgumentException        si postId est null
     * @throws java.util.NoSuchElementException si aucun post correspondant à postId n'est trouvé
     */
-    Post likePost(Long postId);
+    PostResponseDto likePost(Long postId);
 }
@@ -1,8 +1,33 @@
 package com.example.socialapp.services.interfaces;
 
+import java.util.List;
+import java.util.Optional;
+
 import com.example.socialapp.dto.UserDto;
+import com.example.socialapp.dto.UserProfileDto;
 import com.example.socialapp.entity.User;
 
 public interface IUserService {
     boolean register(UserDto dto);
+
+    /**
+    * Recherche les noms d'utilisateur commençant par un préfixe (insensible à la casse),
+    * depuis l'index en mémoire : aucune requête en base.
+    *
+    * @param prefix début du nom recherché, non null
+    * @param limit  nombre maximum de résultats, > 0
+    * @return noms trouvés dans l'ordre alphabétique, éventuellement vide
+    */
+    List<String> searchUsernames(String prefix, int limit);
+
+    /**
+    * Profil public d'un utilisateur : nombre de posts et total des likes reçus.
+    *
+    * Les compteurs sont maintenus à chaque création de post et à chaque like, et les profils
+    * consultés sont gardés en cache : aucune agrégation sur les posts à l'affichage.
+    *
+    * @param username nom d'utilisateur exact, non null
+    * @return le profil, ou Optional.empty() si l'utilisateur n'existe pas
+    */
+    Optional<UserProfileDto> getProfile(String username);
 }
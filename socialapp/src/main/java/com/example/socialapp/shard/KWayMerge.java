@@ -0,0 +1,62 @@
+package com.example.socialapp.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Fusion de listes déjà triées (une par shard) en une seule page.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    /**
+     * Fusionne les listes triées selon {@code order}, saute {@code skip} éléments et
+     * renvoie au plus {@code limit} éléments ; coût en O((skip + limit) log k).
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, long skip, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(
+                Math.max(1, sorted.size()), (a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : sorted) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+
+        List<T> result = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!heads.isEmpty() && result.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                result.add(cursor.head());
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> list;
+        private int position;
+
+        Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        T head() {
+            return list.get(position);
+        }
+
+        boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
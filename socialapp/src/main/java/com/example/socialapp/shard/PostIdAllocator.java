@@ -0,0 +1,44 @@
+package com.example.socialapp.shard;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ids de posts pour les insertions faites en JDBC, hors d'Hibernate (voir PostCreationBatcher).
+ *
+ * Même schéma que {@link ShardedIdGenerator} : un appel à la séquence {@code post_ids} du shard
+ * réserve un bloc de {@link ShardedIdGenerator#ALLOCATION_SIZE} valeurs pour ce composant.
+ */
+@Component
+public class PostIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+    private final long[] next = new long[ShardRouter.MAX_SHARDS];
+    private final long[] limit = new long[ShardRouter.MAX_SHARDS];
+
+    public PostIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(ShardedIdGenerator.SEQUENCE);
+    }
+
+    /**
+     * Renvoie le prochain id d'un post de {@code shard} ; à appeler dans une transaction sur ce shard.
+     */
+    public synchronized long next(int shard) {
+        if (next[shard] == limit[shard]) {
+            Long start = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            if (start == null) {
+                throw new IllegalStateException("Could not allocate post ids");
+            }
+            next[shard] = start;
+            limit[shard] = start + ShardedIdGenerator.ALLOCATION_SIZE;
+        }
+        return ShardRouter.postId(shard, next[shard]++);
+    }
+}
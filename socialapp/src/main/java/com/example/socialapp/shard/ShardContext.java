@@ -0,0 +1,31 @@
+package com.example.socialapp.shard;
+
+/**
+ * Shard courant du thread, lu par {@link ShardRoutingDataSource} et {@link ShardedIdGenerator}.
+ *
+ * Positionné uniquement par {@link ShardRouter} ; sans valeur, le shard principal est utilisé.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : ShardRouter.PRIMARY_SHARD;
+    }
+
+    static Integer get() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
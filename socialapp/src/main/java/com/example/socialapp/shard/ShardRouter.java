@@ -0,0 +1,145 @@
+package com.example.socialapp.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Routage des posts par auteur sur N shards.
+ *
+ * Les posts d'un auteur vivent sur le shard {@code id_auteur % N} ; l'id d'un post encode
+ * son shard (10 bits de poids fort), ce qui permet de le retrouver sans connaître l'auteur.
+ * Les ids antérieurs au sharding (inférieurs à 2^43) désignent le shard principal.
+ */
+@Component
+public class ShardRouter {
+
+    public static final int PRIMARY_SHARD = 0;
+
+    static final int SHARD_BITS = 10;
+    static final int SEQUENCE_BITS = 43;
+    static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private final int shardCount;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService scatterPool;
+
+    public ShardRouter(ShardingProperties properties, TransactionTemplate transactionTemplate) {
+        this.shardCount = properties.getShards().size() + 1;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scatterPool = Executors.newFixedThreadPool(properties.getScatterThreads(), r -> {
+            Thread thread = new Thread(r, "shard-scatter-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scatterPool.shutdown();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isKnownShard(int shard) {
+        return shard >= 0 && shard < shardCount;
+    }
+
+    public int shardForAuthor(long authorId) {
+        return Math.floorMod(authorId, shardCount);
+    }
+
+    public static int shardOf(long postId) {
+        return (int) (postId >>> SEQUENCE_BITS) & (MAX_SHARDS - 1);
+    }
+
+    static long postId(int shard, long sequence) {
+        return ((long) shard << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Exécute {@code work} avec le shard donné : les appels aux repositories qu'il contient
+     * ouvrent leur transaction sur ce shard.
+     *
+     * @throws IllegalStateException si une transaction est déjà ouverte sur un autre shard
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isKnownShard(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive() && ShardContext.current() != shard) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction");
+        }
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Exécute {@code action} dans une transaction sur le shard donné.
+     */
+    public <T> T inTransaction(int shard, TransactionCallback<T> action) {
+        return onShard(shard, () -> transactionTemplate.execute(action));
+    }
+
+    /**
+     * Exécute {@code work} en parallèle sur tous les shards ; le résultat i vient du shard i.
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        return scatter(IntStream.range(0, shardCount).boxed().toList(), work);
+    }
+
+    /**
+     * Exécute {@code work} en parallèle sur les shards donnés, résultats dans le même ordre.
+     */
+    public <T> List<T> scatter(Collection<Integer> shards, IntFunction<T> work) {
+        List<T> results = new ArrayList<>(shards.size());
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            results.add(onShard(shard, () -> work.apply(shard)));
+            return results;
+        }
+
+        List<Future<T>> futures = shards.stream()
+                .map(shard -> scatterPool.submit(() -> onShard(shard, () -> work.apply(shard))))
+                .toList();
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+}
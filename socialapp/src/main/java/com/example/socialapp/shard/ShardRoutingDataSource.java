@@ -0,0 +1,30 @@
+package com.example.socialapp.shard;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource unique vue par JPA, qui délègue au pool du shard courant.
+ *
+ * La connexion est choisie à l'ouverture de la transaction : changer de shard au milieu
+ * d'une transaction n'a pas d'effet (voir {@link ShardRouter#onShard}).
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * Ferme les pools des shards à l'arrêt du contexte (méthode de destruction inférée).
+     */
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
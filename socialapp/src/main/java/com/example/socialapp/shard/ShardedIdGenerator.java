@@ -0,0 +1,51 @@
+package com.example.socialapp.shard;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Génère {@code (shard << 43) | valeur}, la valeur venant de la séquence {@code post_ids} du shard.
+ *
+ * Chaque appel à la séquence réserve un bloc de {@link #ALLOCATION_SIZE} valeurs pour cette JVM :
+ * les ids restent uniques entre réplicas sans aller-retour par post. Le shard est celui de la
+ * transaction en cours ({@link ShardRouter#onShard}).
+ */
+public class ShardedIdGenerator implements IdentifierGenerator {
+
+    static final String SEQUENCE = "post_ids";
+    static final int ALLOCATION_SIZE = 64;
+
+    private final long[] next = new long[ShardRouter.MAX_SHARDS];
+    private final long[] limit = new long[ShardRouter.MAX_SHARDS];
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object entity) {
+        int shard = ShardContext.current();
+        if (next[shard] == limit[shard]) {
+            long start = nextBlock(session);
+            next[shard] = start;
+            limit[shard] = start + ALLOCATION_SIZE;
+        }
+        return ShardRouter.postId(shard, next[shard]++);
+    }
+
+    private static long nextBlock(SharedSessionContractImplementor session) {
+        String sql = session.getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+        // Connexion de la transaction en cours, donc celle du shard d'écriture
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "Could not allocate post ids", sql);
+        }
+    }
+}
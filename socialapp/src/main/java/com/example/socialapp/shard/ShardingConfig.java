@@ -0,0 +1,71 @@
+package com.example.socialapp.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Remplace la DataSource auto-configurée par un routage vers les N shards.
+ *
+ * Le shard principal garde tout le schéma (géré par Hibernate) ; chaque shard reçoit la table
+ * {@code posts} et la séquence {@code post_ids} au démarrage.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, ShardingProperties sharding) {
+        List<ShardingProperties.ShardDataSource> shards = sharding.getShards();
+        if (shards.size() + 1 > ShardRouter.MAX_SHARDS) {
+            throw new IllegalArgumentException("Too many shards: " + (shards.size() + 1));
+        }
+
+        DataSource primary = primaryProperties.initializeDataSourceBuilder().build();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ShardRouter.PRIMARY_SHARD, primary);
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.ShardDataSource shard = shards.get(i);
+            targets.put(i + 1, DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build());
+        }
+        targets.values().forEach(target -> initializeSchema((DataSource) target));
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.setLenientFallback(false);
+        return routing;
+    }
+
+    private static void initializeSchema(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql")).execute(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Integer sequences = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.sequences WHERE LOWER(sequence_name) = ?",
+                Integer.class, ShardedIdGenerator.SEQUENCE);
+        if (sequences == null || sequences == 0) {
+            // Base déjà peuplée avec des ids IDENTITY : les nouveaux ids démarrent après le plus grand
+            Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM posts", Long.class);
+            jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + ShardedIdGenerator.SEQUENCE
+                    + " START WITH " + (maxId + 1)
+                    + " INCREMENT BY " + ShardedIdGenerator.ALLOCATION_SIZE);
+        }
+    }
+}
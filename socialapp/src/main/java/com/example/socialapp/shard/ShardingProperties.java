@@ -0,0 +1,33 @@
+package com.example.socialapp.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration {@code app.sharding} : le shard 0 est {@code spring.datasource}, les entrées
+ * de {@code shards} sont les shards 1 à N-1.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private List<ShardDataSource> shards = new ArrayList<>();
+
+    // Threads partagés par les requêtes "scatter-gather" sur tous les shards
+    private int scatterThreads = 16;
+
+    @Getter
+    @Setter
+    public static class ShardDataSource {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
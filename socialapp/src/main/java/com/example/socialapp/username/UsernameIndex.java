@@ -0,0 +1,103 @@
+package com.example.socialapp.username;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.socialapp.event.UserRegisteredEvent;
+import com.example.socialapp.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index en mémoire des noms d'utilisateur, chargé au démarrage puis tenu à jour à l'inscription.
+ *
+ * Le filtre de Bloom permet à l'inscription de sauter la requête {@code existsByUsername} quand
+ * le nom est certainement libre ; l'ensemble trié sert la recherche par préfixe (insensible à la
+ * casse). La contrainte d'unicité en base reste l'arbitre final : un nom inscrit par une autre
+ * instance est ajouté ici lorsque l'insertion échoue.
+ */
+@Slf4j
+@Component
+public class UsernameIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    // Sépare la clé de tri (minuscules) du nom d'origine ; absent des noms d'utilisateur
+    private static final char SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+    private final BloomFilter bloomFilter;
+    private final NavigableSet<String> sortedKeys = new ConcurrentSkipListSet<>();
+
+    public UsernameIndex(UserRepository userRepository,
+                         @Value("${app.users.index.expected-users:1000000}") long expectedUsers,
+                         @Value("${app.users.index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.bloomFilter = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() {
+        Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE);
+        long count = 0;
+        while (true) {
+            Slice<String> usernames = userRepository.findUsernames(pageable);
+            usernames.forEach(this::add);
+            count += usernames.getNumberOfElements();
+            if (!usernames.hasNext()) {
+                break;
+            }
+            pageable = usernames.nextPageable();
+        }
+        log.info("Loaded {} usernames into the username index", count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        add(event.username());
+    }
+
+    public void add(String username) {
+        bloomFilter.put(username);
+        sortedKeys.add(key(username));
+    }
+
+    /**
+     * @return false si le nom n'a certainement jamais été inscrit ; true s'il l'a peut-être été
+     */
+    public boolean mightExist(String username) {
+        return bloomFilter.mightContain(username);
+    }
+
+    /**
+     * Noms commençant par {@code prefix} (sans tenir compte de la casse), dans l'ordre alphabétique.
+     */
+    public List<String> search(String prefix, int limit) {
+        if (prefix.indexOf(SEPARATOR) >= 0) {
+            return List.of();
+        }
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>(Math.min(limit, 64));
+        for (String key : sortedKeys.tailSet(lowerPrefix, true)) {
+            if (result.size() >= limit || !key.startsWith(lowerPrefix)) {
+                break;
+            }
+            result.add(key.substring(key.indexOf(SEPARATOR) + 1));
+        }
+        return result;
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT) + SEPARATOR + username;
+    }
+}
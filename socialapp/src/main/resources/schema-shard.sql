@@ -0,0 +1,21 @@
+-- Schéma des posts appliqué à chaque shard au démarrage (voir ShardingConfig).
+-- Pas de clé étrangère vers users : les utilisateurs vivent sur le shard principal.
+CREATE TABLE IF NOT EXISTS posts (
+    id BIGINT NOT NULL PRIMARY KEY,
+    content VARCHAR(500) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    user_id BIGINT,
+    likes_count INTEGER NOT NULL,
+    attachment_hashes VARCHAR(300)
+);
+
+CREATE INDEX IF NOT EXISTS idx_posts_created ON posts (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_posts_author ON posts (user_id, created_at DESC, id DESC);
+
+-- Compteurs des auteurs dont les posts vivent sur ce shard (voir UserStats)
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    post_count BIGINT NOT NULL,
+    likes_received BIGINT NOT NULL
+);
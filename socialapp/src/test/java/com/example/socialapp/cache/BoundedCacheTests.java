@@ -0,0 +1,34 @@
+package com.example.socialapp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTests {
+
+    private final BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1), () -> 0);
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsNotCached() {
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+
+        assertThat(cache.putIfNotInvalidated("a", "périmé", stamp)).isFalse();
+        assertThat(cache.putIfNotInvalidated("a", "frais", cache.stamp())).isTrue();
+        assertThat(cache.get("a")).isEqualTo("frais");
+    }
+
+    @Test
+    void invalidationEvictedByLruStillRejectsTheLoad() {
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+
+        // La marque de "a" a été évincée pendant le chargement
+        assertThat(cache.putIfNotInvalidated("a", "périmé", stamp)).isFalse();
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.socialapp.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.example.socialapp.config.JwtService;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.attachments.dir=target/test-attachments",
+        "app.attachments.max-size=262144"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class AttachmentControllerTests {
+
+    private static final byte[] CONTENT = new byte[100_000];
+
+    static {
+        new Random(42).nextBytes(CONTENT);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void authenticate() {
+        if (!userRepository.existsByUsername("uploader")) {
+            userRepository.save(User.builder().username("uploader").password("x").build());
+        }
+        token = jwtService.generateToken(Map.of(), "uploader");
+    }
+
+    @Test
+    void uploadsOnceAndServesRangesAndConditionalRequests() throws Exception {
+        HttpResponse<String> first = upload(CONTENT);
+        HttpResponse<String> second = upload(CONTENT);
+        assertThat(first.statusCode()).isEqualTo(201);
+        String hash = objectMapper.readTree(first.body()).get("hash").asText();
+        JsonNode duplicate = objectMapper.readTree(second.body());
+        assertThat(duplicate.get("hash").asText()).isEqualTo(hash);
+        assertThat(duplicate.get("size").asLong()).isEqualTo(CONTENT.length);
+
+        HttpResponse<byte[]> full = download(request(hash));
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.body()).isEqualTo(CONTENT);
+        assertThat(full.headers().firstValue("ETag")).hasValue("\"" + hash + "\"");
+
+        HttpResponse<byte[]> partial = download(request(hash).header("Range", "bytes=10-19"));
+        assertThat(partial.statusCode()).isEqualTo(206);
+        assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 10-19/" + CONTENT.length);
+        assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(CONTENT, 10, 20));
+
+        HttpResponse<byte[]> tail = download(request(hash).header("Range", "bytes=-60000"));
+        assertThat(tail.statusCode()).isEqualTo(206);
+        assertThat(tail.body()).isEqualTo(Arrays.copyOfRange(CONTENT, CONTENT.length - 60_000, CONTENT.length));
+
+        HttpResponse<byte[]> staleIfRange = download(request(hash)
+                .header("Range", "bytes=0-9").header("If-Range", "\"other\""));
+        assertThat(staleIfRange.statusCode()).isEqualTo(200);
+
+        HttpResponse<byte[]> notModified = download(request(hash).header("If-None-Match", "\"" + hash + "\""));
+        assertThat(notModified.statusCode()).isEqualTo(304);
+
+        HttpResponse<byte[]> unsatisfiable = download(request(hash).header("Range", "bytes=200000-"));
+        assertThat(unsatisfiable.statusCode()).isEqualTo(416);
+        assertThat(unsatisfiable.headers().firstValue("Content-Range")).hasValue("bytes */" + CONTENT.length);
+    }
+
+    @Test
+    void streamedRangeIsServedThroughTheSecuredAsyncDispatch() throws Exception {
+        String hash = objectMapper.readTree(upload(CONTENT).body()).get("hash").asText();
+
+        // Hors Tomcat, pas de sendfile : le corps part par le dispatch asynchrone, qui doit rester autorisé
+        MvcResult started = mockMvc.perform(get("/api/attachments/" + hash)
+                        .header("Authorization", "Bearer " + token)
+                        .header("Range", "bytes=10-19"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 10-19/" + CONTENT.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 10, 20)));
+    }
+
+    @Test
+    void declaredContentTypeIsOnlyServedInlineWhenAllowListed() throws Exception {
+        String html = objectMapper.readTree(upload("<script>alert(1)</script>".getBytes(), "text/html").body())
+                .get("hash").asText();
+        HttpResponse<byte[]> served = download(request(html));
+        assertThat(served.headers().firstValue("Content-Type")).hasValue("application/octet-stream");
+        assertThat(served.headers().firstValue("Content-Disposition")).hasValue("attachment");
+        assertThat(served.headers().firstValue("X-Content-Type-Options")).hasValue("nosniff");
+
+        String png = objectMapper.readTree(upload(new byte[] {(byte) 0x89, 'P', 'N', 'G'}, "image/png").body())
+                .get("hash").asText();
+        HttpResponse<byte[]> image = download(request(png));
+        assertThat(image.headers().firstValue("Content-Type")).hasValue("image/png");
+        assertThat(image.headers().firstValue("Content-Disposition")).isEmpty();
+        assertThat(image.headers().firstValue("X-Content-Type-Options")).hasValue("nosniff");
+    }
+
+    @Test
+    void contentTypeIsStoredWithoutParametersAndRejectedWhenTooLong() throws Exception {
+        HttpResponse<String> stored = upload("parametres".getBytes(), "text/plain; charset=UTF-8; format=flowed");
+        assertThat(stored.statusCode()).isEqualTo(201);
+        assertThat(objectMapper.readTree(stored.body()).get("contentType").asText()).isEqualTo("text/plain");
+
+        HttpResponse<String> tooLong = upload("trop long".getBytes(), "application/" + "x".repeat(100));
+        assertThat(tooLong.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void rejectsAttachmentsOverTheLimit() throws Exception {
+        assertThat(upload(new byte[300_000]).statusCode()).isEqualTo(413);
+    }
+
+    private HttpResponse<String> upload(byte[] body) throws Exception {
+        return upload(body, "application/octet-stream");
+    }
+
+    private HttpResponse<String> upload(byte[] body, String contentType) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri("/api/attachments"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", contentType)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String hash) {
+        return HttpRequest.newBuilder(uri("/api/attachments/" + hash))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<byte[]> download(HttpRequest.Builder request) throws Exception {
+        return client.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
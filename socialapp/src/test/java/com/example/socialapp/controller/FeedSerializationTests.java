@@ -0,0 +1,169 @@
+package com.example.socialapp.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.config.JacksonConfig;
+import com.example.socialapp.config.JwtService;
+import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostPageDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.services.interfaces.IFeedService;
+import com.example.socialapp.services.interfaces.IPostService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FeedSerializationTests {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String LEAN_FIELDS = "id,content,likesCount";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private IFeedService feedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void createPosts() throws InterruptedException {
+        if (!userRepository.existsByUsername("serializer")) {
+            userRepository.save(User.builder().username("serializer").password("x").build());
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                postService.createPost(PostDto.builder()
+                        .content("Post numéro " + i + " pour mesurer la taille d'une page du fil #bench")
+                        .build(), "serializer");
+            }
+        }
+        token = jwtService.generateToken(Map.of(), "serializer");
+        for (int i = 0; i < 100 && feedService.getFeedSlice(0, PAGE_SIZE).getNumberOfElements() < PAGE_SIZE; i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void leanEnvelopeAndSparseFieldsOverJsonAndCbor() throws Exception {
+        String query = "/api/posts?page=0&size=" + PAGE_SIZE;
+        HttpResponse<byte[]> full = get(query, "application/json");
+        HttpResponse<byte[]> lean = get(query + "&envelope=lean", "application/json");
+        HttpResponse<byte[]> sparse = get(query + "&envelope=lean&fields=" + LEAN_FIELDS, "application/json");
+        HttpResponse<byte[]> cbor = get(query + "&envelope=lean&fields=" + LEAN_FIELDS, "application/cbor");
+
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(full.body()).has("pageable")).isTrue();
+
+        JsonNode leanPage = objectMapper.readTree(lean.body());
+        assertThat(leanPage.has("pageable")).isFalse();
+        assertThat(leanPage.get("hasNext")).isNotNull();
+        assertThat(leanPage.get("content")).hasSize(PAGE_SIZE);
+        assertThat(leanPage.get("content").get(0).has("authorUsername")).isTrue();
+
+        JsonNode sparsePage = objectMapper.readTree(sparse.body());
+        JsonNode firstPost = sparsePage.get("content").get(0);
+        assertThat(firstPost.properties()).extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder("id", "content", "likesCount");
+
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/cbor"));
+        assertThat(cborConverter.getObjectMapper().readTree(cbor.body())).isEqualTo(sparsePage);
+
+        // Chaque étape réduit la page : enveloppe sans pageable/sort, puis champs, puis CBOR
+        assertThat(lean.body().length).isLessThan(full.body().length);
+        assertThat(sparse.body().length).isLessThan(lean.body().length);
+        assertThat(cbor.body().length).isLessThan(sparse.body().length);
+    }
+
+    @Test
+    void sparseFilterKeepsTheLeanEnvelope() throws Exception {
+        Slice<PostResponseDto> slice = feedService.getFeedSlice(0, PAGE_SIZE);
+        PostPageDto page = PostPageDto.fromSlice(slice);
+        FilterProvider sparse = JacksonConfig.onlyFields(Set.of(LEAN_FIELDS.split(",")));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writer(sparse).writeValueAsBytes(page));
+        assertThat(json.get("content")).hasSize(PAGE_SIZE);
+        assertThat(json.get("hasNext")).isNotNull();
+        json.get("content").forEach(post -> assertThat(post.properties()).extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder("id", "content", "likesCount"));
+
+        byte[] cbor = cborConverter.getObjectMapper().writer(sparse).writeValueAsBytes(page);
+        assertThat(cborConverter.getObjectMapper().readTree(cbor)).isEqualTo(json);
+    }
+
+    // Mesure à la demande : mvn test -Dbenchmarks=true -Dtest=FeedSerializationTests
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void serializationTimePerPage() throws Exception {
+        Slice<PostResponseDto> slice = feedService.getFeedSlice(0, PAGE_SIZE);
+        PostPageDto page = PostPageDto.fromSlice(slice);
+        FilterProvider sparse = JacksonConfig.onlyFields(Set.of(LEAN_FIELDS.split(",")));
+
+        measure("JSON page complète", objectMapper.writer(), slice);
+        measure("JSON enveloppe légère", objectMapper.writer(), page);
+        measure("JSON champs choisis", objectMapper.writer(sparse), page);
+        measure("CBOR champs choisis", cborConverter.getObjectMapper().writer(sparse), page);
+    }
+
+    private static void measure(String label, ObjectWriter writer, Object page) throws Exception {
+        int iterations = 20_000;
+        long bytes = 0;
+        // Préchauffage du JIT avant la mesure
+        for (int i = 0; i < iterations; i++) {
+            bytes += writer.writeValueAsBytes(page).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes += writer.writeValueAsBytes(page).length;
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / iterations;
+        System.out.printf("%-22s : %6.1f µs par page, %d octets%n", label, micros, bytes / (2L * iterations));
+        assertThat(bytes).isPositive();
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", accept)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.socialapp.hashtag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HashtagExtractorTests {
+
+    @Test
+    void extractsNormalizedHashtagsAndMentions() {
+        String content = "Hello @alice and @bob. #Java #java, #Été2025 ! mail@site.com a#b #";
+
+        assertThat(HashtagExtractor.hashtags(content)).containsExactly("java", "été2025");
+        assertThat(HashtagExtractor.mentions(content)).containsExactly("alice", "bob");
+    }
+
+    @Test
+    void skipsTagsLongerThanTheLimitInsteadOfTruncatingThem() {
+        String longest = "a".repeat(HashtagExtractor.MAX_TAG_LENGTH);
+        String tooLong = "b".repeat(HashtagExtractor.MAX_TAG_LENGTH + 1);
+        String content = "#" + longest + " #" + tooLong + " @" + longest + ". @" + tooLong + " @x-" + tooLong;
+
+        assertThat(HashtagExtractor.hashtags(content)).containsExactly(longest);
+        assertThat(HashtagExtractor.mentions(content)).containsExactly(longest);
+    }
+}
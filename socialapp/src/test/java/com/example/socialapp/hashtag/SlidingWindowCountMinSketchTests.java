@@ -0,0 +1,80 @@
+package com.example.socialapp.hashtag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCountMinSketchTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SlidingWindowCountMinSketch sketch =
+            new SlidingWindowCountMinSketch(4, 1024, 6, 60_000, 1_000, now::get);
+
+    @Test
+    void ranksMostFrequentKeysFirst() {
+        add("java", 50);
+        add("spring", 30);
+        add("postgres", 10);
+        for (int i = 0; i < 200; i++) {
+            add("noise" + i, 1);
+        }
+
+        List<SlidingWindowCountMinSketch.Entry> top = sketch.top(3);
+
+        assertThat(top).extracting(SlidingWindowCountMinSketch.Entry::key)
+                .containsExactly("java", "spring", "postgres");
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(50);
+        assertThat(sketch.top(0)).isEmpty();
+        assertThat(sketch.top(-1)).isEmpty();
+    }
+
+    @Test
+    void forgetsCountsOutsideTheWindow() {
+        add("old", 40);
+        now.addAndGet(30_000);
+        add("recent", 5);
+
+        assertThat(sketch.estimate("old")).isGreaterThanOrEqualTo(40);
+
+        now.addAndGet(40_000);
+        assertThat(sketch.estimate("old")).isZero();
+        assertThat(sketch.top(5)).extracting(SlidingWindowCountMinSketch.Entry::key).containsExactly("recent");
+    }
+
+    @Test
+    void frequentKeyDisplacesRareCandidatesOnceFull() {
+        SlidingWindowCountMinSketch small = new SlidingWindowCountMinSketch(4, 1024, 6, 60_000, 10, now::get);
+        for (int i = 0; i < 10; i++) {
+            small.add("rare" + i);
+        }
+        small.add("rare" + 3);
+        for (int i = 0; i < 5; i++) {
+            small.add("hot");
+        }
+        small.add("late");
+
+        assertThat(small.top(2)).extracting(SlidingWindowCountMinSketch.Entry::key)
+                .containsExactly("hot", "rare3");
+        // Estimation égale à celle du plus petit candidat : pas d'admission
+        assertThat(small.top(20)).extracting(SlidingWindowCountMinSketch.Entry::key).doesNotContain("late");
+    }
+
+    @Test
+    void neverUnderestimates() {
+        for (int i = 0; i < 500; i++) {
+            add("k" + i, i % 13 + 1);
+        }
+        for (int i = 0; i < 500; i++) {
+            assertThat(sketch.estimate("k" + i)).isGreaterThanOrEqualTo(i % 13 + 1);
+        }
+    }
+
+    private void add(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.add(key);
+        }
+    }
+}
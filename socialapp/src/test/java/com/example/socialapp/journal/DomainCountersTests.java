@@ -0,0 +1,38 @@
+package com.example.socialapp.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DomainCountersTests {
+
+    @Test
+    void tracksOnlyRecentPostsButKeepsExactTotals() {
+        DomainCounters counters = new DomainCounters(new SimpleMeterRegistry(), 10);
+        for (long id = 0; id < 100; id++) {
+            counters.apply(new JournalEvent(JournalEvent.Type.POST_CREATED, 0, id, 0, "author"));
+        }
+        assertThat(counters.trackedPosts()).isEqualTo(10);
+        assertThat(counters.getPosts()).isEqualTo(100);
+
+        // Post suivi : le compteur absolu est converti en incrément, un rejeu est sans effet
+        counters.apply(liked(99, 1));
+        counters.apply(liked(99, 1));
+        // Post oublié : chaque événement compte pour un like
+        counters.apply(liked(0, 5));
+        assertThat(counters.getLikes()).isEqualTo(2);
+        assertThat(counters.trackedPosts()).isEqualTo(10);
+
+        DomainCounters restored = new DomainCounters(new SimpleMeterRegistry(), 10);
+        restored.restore(counters.snapshot());
+        assertThat(restored.getPosts()).isEqualTo(100);
+        assertThat(restored.getLikes()).isEqualTo(2);
+        assertThat(restored.getLikes(0)).isEqualTo(5);
+    }
+
+    private static JournalEvent liked(long postId, int count) {
+        return new JournalEvent(JournalEvent.Type.POST_LIKED, 0, postId, count, null);
+    }
+}
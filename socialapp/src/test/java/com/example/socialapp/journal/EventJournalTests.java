@@ -0,0 +1,241 @@
+package com.example.socialapp.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.socialapp.event.UserRegisteredEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EventJournalTests {
+
+    private static final int SMALL_SEGMENT = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsOverToNewSegmentsAndReplaysInOrder() throws IOException {
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 1_000; i++) {
+                journal.append(event(i));
+            }
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            EventJournal.ReplayResult result = journal.replay(JournalPosition.START, replayed::add);
+            assertThat(result.corrupted()).isFalse();
+            assertThat(result.end()).isEqualTo(journal.position());
+        }
+        assertThat(replayed).hasSize(1_000);
+        for (int i = 0; i < replayed.size(); i++) {
+            assertThat(replayed.get(i)).isEqualTo(event(i));
+        }
+    }
+
+    @Test
+    void eventTheJournalRejectsStillReachesTheCountersAndTheNextStart() throws Exception {
+        // Snapshot initial : le service démarre sans lire la base
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            journal.writeSnapshot(JournalPosition.START,
+                    new DomainCounters(new SimpleMeterRegistry(), 100).snapshot());
+        }
+        DomainCounters counters = new DomainCounters(new SimpleMeterRegistry(), 100);
+        JournalService service = new JournalService(counters, null, null, null,
+                true, dir.toString(), SMALL_SEGMENT, 10_000);
+        service.recover();
+
+        // Nom trop long pour un enregistrement du journal
+        service.onUserRegistered(new UserRegisteredEvent(1L, "x".repeat(2_000), Instant.now()));
+        service.onUserRegistered(new UserRegisteredEvent(2L, "journalisable", Instant.now()));
+        assertThat(counters.getUsers()).isEqualTo(2);
+        service.close();
+
+        DomainCounters restarted = new DomainCounters(new SimpleMeterRegistry(), 100);
+        JournalService next = new JournalService(restarted, null, null, null,
+                true, dir.toString(), SMALL_SEGMENT, 10_000);
+        next.recover();
+        assertThat(restarted.getUsers()).isEqualTo(2);
+        next.close();
+    }
+
+    @Test
+    void truncatesTornTailRecordAndResumesWritingThere() throws IOException {
+        JournalPosition afterNine = null;
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 10; i++) {
+                JournalPosition position = journal.append(event(i));
+                if (i == 8) {
+                    afterNine = position;
+                }
+            }
+        }
+
+        // Dernier enregistrement à moitié écrit
+        corrupt(afterNine.offset() + 12);
+
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            assertThat(journal.corruption()).isEmpty();
+            assertThat(journal.position()).isEqualTo(afterNine);
+            journal.append(event(42));
+        }
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            EventJournal.ReplayResult result = journal.replay(JournalPosition.START, replayed::add);
+            assertThat(result.corrupted()).isFalse();
+        }
+        assertThat(replayed).hasSize(10);
+        assertThat(replayed.get(9)).isEqualTo(event(42));
+    }
+
+    @Test
+    void keepsRecordsAfterMidLogCorruption() throws IOException {
+        JournalPosition afterTen = null;
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 20; i++) {
+                JournalPosition position = journal.append(event(i));
+                if (i == 9) {
+                    afterTen = position;
+                }
+            }
+        }
+
+        // Un octet altéré dans le 11e enregistrement, suivi de 9 enregistrements valides
+        corrupt(afterTen.offset() + 12);
+        byte[] corruptedSegment = Files.readAllBytes(segmentFiles().get(0));
+
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            assertThat(journal.corruption()).contains(afterTen);
+            assertThat(journal.position()).isEqualTo(new JournalPosition(1, 0));
+            journal.append(event(42));
+        }
+        assertThat(Files.readAllBytes(segmentFiles().get(0))).isEqualTo(corruptedSegment);
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            EventJournal.ReplayResult result = journal.replay(JournalPosition.START, replayed::add);
+            assertThat(result.corrupted()).isTrue();
+            assertThat(result.end()).isEqualTo(afterTen);
+        }
+        assertThat(replayed).hasSize(10);
+    }
+
+    @Test
+    void replaysOnlyEventsAfterLatestSnapshot() throws IOException {
+        DomainCounters counters = new DomainCounters(new SimpleMeterRegistry(), 1_000);
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 500; i++) {
+                journal.append(event(i));
+                counters.apply(event(i));
+            }
+            journal.writeSnapshot(journal.position(), counters.snapshot());
+            for (int i = 500; i < 520; i++) {
+                journal.append(event(i));
+            }
+        }
+
+        DomainCounters restored = new DomainCounters(new SimpleMeterRegistry(), 1_000);
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            JournalSnapshot snapshot = journal.latestSnapshot().orElseThrow();
+            restored.restore(snapshot.state());
+            EventJournal.ReplayResult result = journal.replay(snapshot.position(), restored::apply);
+            assertThat(result.events()).isEqualTo(20);
+        }
+        assertThat(restored.getPosts()).isEqualTo(520);
+        assertThat(restored.getUsers()).isZero();
+    }
+
+    @Test
+    void snapshotsWrittenConcurrentlyWithAppendsStayConsistent() throws Exception {
+        int events = 2_000;
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < events; i++) {
+                        journal.append(event(i));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.start();
+            while (writer.isAlive()) {
+                journal.writeSnapshot(journal.position(), new byte[] { 1 });
+            }
+            writer.join();
+        }
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (EventJournal journal = EventJournal.open(dir, SMALL_SEGMENT)) {
+            JournalSnapshot snapshot = journal.latestSnapshot().orElseThrow();
+            EventJournal.ReplayResult result = journal.replay(snapshot.position(), replayed::add);
+            assertThat(result.corrupted()).isFalse();
+            assertThat(result.end()).isEqualTo(journal.position());
+        }
+        if (!replayed.isEmpty()) {
+            assertThat(replayed.get(replayed.size() - 1)).isEqualTo(event(events - 1));
+        }
+    }
+
+    // Mesure à la demande : mvn test -Dbenchmarks=true -Dtest=EventJournalTests
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void replayThroughput() throws IOException {
+        int events = 500_000;
+        try (EventJournal journal = EventJournal.open(dir, 8 * 1024 * 1024)) {
+            for (int i = 0; i < events; i++) {
+                journal.append(event(i));
+            }
+        }
+
+        long[] count = new long[1];
+        JournalEvent[] last = new JournalEvent[1];
+        long start = System.nanoTime();
+        try (EventJournal journal = EventJournal.open(dir, 8 * 1024 * 1024)) {
+            EventJournal.ReplayResult result = journal.replay(JournalPosition.START, e -> {
+                count[0]++;
+                last[0] = e;
+            });
+            assertThat(result.corrupted()).isFalse();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Rejeu du journal : %d événements en %.0f ms (%.0f événements/s)%n",
+                count[0], seconds * 1000, count[0] / seconds);
+        assertThat(count[0]).isEqualTo(events);
+        assertThat(last[0]).isEqualTo(event(events - 1));
+    }
+
+    private void corrupt(int offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), offset);
+        }
+    }
+
+    private static JournalEvent event(int i) {
+        return new JournalEvent(JournalEvent.Type.POST_CREATED, 1_700_000_000_000L + i, i, 0, "user" + (i % 7));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.entity.FeedEntry;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.FeedEntryRepository;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.services.interfaces.IFeedService;
+import com.example.socialapp.services.interfaces.IPostService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedServiceImplTests {
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private IFeedService feedService;
+
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeedServiceImpl feedServiceImpl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void postsAndLikesReachTheReadModel() throws InterruptedException {
+        userRepository.save(User.builder().username("feed-author").password("x").build());
+
+        Post post = postService.createPost(PostDto.builder().content("hello feed").build(), "feed-author");
+        postService.likePost(post.getId());
+        postService.likePost(post.getId());
+
+        FeedEntry entry = await(() -> feedEntryRepository.findById(post.getId())
+                .filter(e -> e.getLikesCount() == 2));
+        assertThat(entry.getAuthorUsername()).isEqualTo("feed-author");
+        assertThat(entry.getContent()).isEqualTo("hello feed");
+
+        assertThat(feedService.getFeed(0, 10).getContent())
+                .anySatisfy(dto -> assertThat(dto.getId()).isEqualTo(post.getId()));
+        assertThat(meterRegistry.get("feed.projection.lag").timer().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void rebuildRestoresDivergedEntries() throws InterruptedException {
+        userRepository.save(User.builder().username("rebuild-author").password("x").build());
+        Post post = postService.createPost(PostDto.builder().content("to rebuild").build(), "rebuild-author");
+        await(() -> feedEntryRepository.findById(post.getId()));
+
+        feedEntryRepository.deleteById(post.getId());
+        assertThat(feedService.rebuild()).isGreaterThanOrEqualTo(1);
+        assertThat(feedEntryRepository.findById(post.getId())).isPresent();
+    }
+
+    @Test
+    void failedProjectionIsRetriedFromTheDatabase() throws InterruptedException {
+        userRepository.save(User.builder().username("retry-author").password("x").build());
+        Post post = postService.createPost(PostDto.builder().content("to retry").build(), "retry-author");
+        await(() -> feedEntryRepository.findById(post.getId()));
+
+        // Projection perdue : l'entrée manque et le post est noté en échec
+        feedEntryRepository.deleteById(post.getId());
+        feedServiceImpl.retryLater(post.getId());
+
+        FeedEntry entry = await(() -> feedEntryRepository.findById(post.getId()));
+        assertThat(entry.getContent()).isEqualTo("to retry");
+        assertThat(entry.getAuthorUsername()).isEqualTo("retry-author");
+    }
+
+    private static <T> T await(Supplier<Optional<T>> probe) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Optional<T> value = probe.get();
+            if (value.isPresent()) {
+                return value.get();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Read model was not updated in time");
+    }
+}
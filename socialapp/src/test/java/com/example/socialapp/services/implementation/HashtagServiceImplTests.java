@@ -0,0 +1,48 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.services.interfaces.IHashtagService;
+import com.example.socialapp.services.interfaces.IPostService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HashtagServiceImplTests {
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private IHashtagService hashtagService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void indexesHashtagsAfterCreation() throws InterruptedException {
+        userRepository.save(User.builder().username("tag-author").password("x").build());
+        Post post = postService.createPost(PostDto.builder().content("Bonjour #SpringBoot et #tests").build(), "tag-author");
+        postService.createPost(PostDto.builder().content("Encore #springboot").build(), "tag-author");
+
+        Page<PostResponseDto> page = Page.empty();
+        for (int i = 0; i < 100 && page.getTotalElements() < 2; i++) {
+            Thread.sleep(50);
+            page = hashtagService.getPostsByHashtag("#springboot", 0, 10);
+        }
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent().get(1).getId()).isEqualTo(post.getId());
+        assertThat(hashtagService.getTopHashtags(1).get(0).getHashtag()).isEqualTo("springboot");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.socialapp.dto.PostResponseDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostCacheTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostCache cache = new PostCache(meterRegistry, 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    private final List<List<Long>> loads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void missesAreLoadedTogetherAndThenServedFromCache() {
+        cache.put(post(1L, 0));
+
+        Map<Long, PostResponseDto> found = cache.getAll(List.of(1L, 2L, 3L, 404L), loader(null));
+        assertThat(found).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(loads).singleElement().satisfies(ids -> assertThat(ids).containsExactlyInAnyOrder(2L, 3L, 404L));
+
+        cache.getAll(List.of(1L, 2L, 3L), loader(null));
+        assertThat(loads).hasSize(1);
+        assertThat(meterRegistry.get("posts.cache.hit.ratio").gauge().value()).isEqualTo(4.0 / 7);
+        assertThat(meterRegistry.get("posts.cache.load").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMissesForSameIdAreCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<Long, PostResponseDto>>> readers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                readers.add(pool.submit(() -> cache.getAll(List.of(7L), loader(release))));
+            }
+            // Laisse les lecteurs arriver sur le chargement en cours avant de le débloquer
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Map<Long, PostResponseDto>> reader : readers) {
+                assertThat(reader.get(5, TimeUnit.SECONDS)).containsKey(7L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    void likesWriteThroughWithoutGoingBackwards() {
+        cache.put(post(5L, 0));
+
+        assertThat(cache.liked(5L, 2).getLikesCount()).isEqualTo(2);
+        // Like plus ancien écrit après : la réponse porte son compteur, le cache garde le plus grand
+        assertThat(cache.liked(5L, 1).getLikesCount()).isEqualTo(1);
+        assertThat(cache.getAll(List.of(5L), loader(null)).get(5L).getLikesCount()).isEqualTo(2);
+        assertThat(loads).isEmpty();
+
+        assertThat(cache.liked(6L, 1)).isNull();
+    }
+
+    @Test
+    void loaderErrorReleasesWaitingReaders() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> owner = pool.submit(() -> cache.getAll(List.of(9L), ids -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Map<Long, PostResponseDto>> waiter = pool.submit(() -> cache.getAll(List.of(9L), loader(null)));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            // Le lecteur arrivé pendant le chargement échoue au lieu d'attendre indéfiniment
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(cache.getAll(List.of(9L), loader(null))).containsKey(9L);
+    }
+
+    private Function<List<Long>, List<PostResponseDto>> loader(CountDownLatch release) {
+        return ids -> {
+            loads.add(ids);
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ids.stream().filter(id -> id != 404L).map(id -> post(id, 0)).toList();
+        };
+    }
+
+    private static PostResponseDto post(Long id, int likesCount) {
+        return PostResponseDto.builder().id(id).content("post " + id).likesCount(likesCount).build();
+    }
+}
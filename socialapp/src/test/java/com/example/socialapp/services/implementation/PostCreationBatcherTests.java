@@ -0,0 +1,160 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.repository.UserStatsRepository;
+import com.example.socialapp.shard.ShardRouter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = {
+        "app.posts.batch.enabled=true",
+        "app.posts.batch.max-size=64",
+        "app.posts.batch.linger-ms=2"
+})
+@ActiveProfiles("test")
+class PostCreationBatcherTests {
+
+    private static final int THREADS = 32;
+    private static final int POSTS_PER_THREAD = 50;
+
+    @Autowired
+    private PostCreationBatcher batcher;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void everyCallerGetsItsOwnGeneratedId() throws Exception {
+        User author = userRepository.save(User.builder().username("batch-author").password("x").build());
+        DistributionSummary batchSizes = meterRegistry.get("posts.batch.size").summary();
+        double postsBefore = batchSizes.totalAmount();
+        long batchesBefore = batchSizes.count();
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = IntStream.range(0, THREADS)
+                    .<Future<?>>mapToObj(t -> pool.submit(() -> {
+                        for (int i = 0; i < POSTS_PER_THREAD; i++) {
+                            Post saved = batcher.submit(Post.builder()
+                                    .content("post " + t + "-" + i)
+                                    .createdAt(LocalDateTime.now())
+                                    .author(author)
+                                    .likesCount(0)
+                                    .build());
+                            assertThat(saved.getId()).isNotNull();
+                            ids.add(saved.getId());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        int total = THREADS * POSTS_PER_THREAD;
+        assertThat(ids).hasSize(total);
+        assertThat(postRepository.count()).isGreaterThanOrEqualTo(total);
+        assertThat(postRepository.findById(ids.iterator().next()))
+                .hasValueSatisfying(post -> assertThat(post.getAuthorId()).isEqualTo(author.getId()));
+        // Ligne créée au premier lot, puis incrémentée par l'UPDATE batché des lots suivants
+        assertThat(userStatsRepository.findById(author.getId()))
+                .hasValueSatisfying(stats -> assertThat(stats.getPostCount()).isEqualTo(total));
+
+        // Les créations concurrentes partagent leurs INSERT/commit
+        assertThat(batchSizes.totalAmount() - postsBefore).isEqualTo(total);
+        assertThat(batchSizes.count() - batchesBefore).isLessThan(total / 2);
+    }
+
+    // Mesure à la demande : mvn test -Dbenchmarks=true -Dtest=PostCreationBatcherTests
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void batchedVersusDirectThroughput() throws Exception {
+        User author = userRepository.save(User.builder().username("batch-bench").password("x").build());
+        int shard = shardRouter.shardForAuthor(author.getId());
+
+        long batchedNanos = createConcurrently(author, batcher::submit);
+        long directNanos = createConcurrently(author,
+                post -> shardRouter.inTransaction(shard, status -> postRepository.save(post)));
+
+        int total = THREADS * POSTS_PER_THREAD;
+        System.out.printf("Création de %d posts (%d threads) : batché %.0f posts/s, direct %.0f posts/s%n",
+                total, THREADS, total / (batchedNanos / 1e9), total / (directNanos / 1e9));
+    }
+
+    private long createConcurrently(User author, Function<Post, Post> create) throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = IntStream.range(0, THREADS)
+                    .<Future<?>>mapToObj(t -> pool.submit(() -> {
+                        for (int i = 0; i < POSTS_PER_THREAD; i++) {
+                            ids.add(create.apply(Post.builder()
+                                    .content("bench " + t + "-" + i)
+                                    .createdAt(LocalDateTime.now())
+                                    .author(author)
+                                    .likesCount(0)
+                                    .build()).getId());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(ids).hasSize(THREADS * POSTS_PER_THREAD);
+        return elapsed;
+    }
+
+    @Test
+    void submitAfterStopFailsInsteadOfBlocking() throws Exception {
+        PostCreationBatcher stopped = new PostCreationBatcher(null, null, null, null,
+                new SimpleMeterRegistry(), true, 64, 2, 1000);
+        stopped.start();
+        stopped.stop();
+
+        assertThatThrownBy(() -> stopped.submit(Post.builder().content("trop tard").build()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.dto.PostCursorPageDto;
+import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.PostRepository;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.services.interfaces.IPostService;
+import com.example.socialapp.shard.ShardRouter;
+
+@SpringBootTest(properties = {
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].driver-class-name=org.h2.Driver",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].driver-class-name=org.h2.Driver"
+})
+@ActiveProfiles("test")
+class ShardedPostServiceTests {
+
+    private static final Comparator<Post> NEWEST_FIRST =
+            Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId).reversed();
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Test
+    void postsAreRoutedByAuthorAndMergedAcrossShards() {
+        assertThat(shardRouter.shardCount()).isEqualTo(3);
+
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authors.add(userRepository.save(User.builder().username("sharded-" + i).password("x").build()));
+        }
+        List<Post> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            User author = authors.get(i % authors.size());
+            Post post = postService.createPost(PostDto.builder().content("sharded post " + i).build(),
+                    author.getUsername());
+            assertThat(ShardRouter.shardOf(post.getId())).isEqualTo(shardRouter.shardForAuthor(author.getId()));
+            created.add(post);
+        }
+        assertThat(created.stream().map(p -> ShardRouter.shardOf(p.getId())).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder(0, 1, 2);
+
+        // Chaque shard ne contient que les posts de ses auteurs
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            int s = shard;
+            List<Post> stored = shardRouter.onShard(s, () -> postRepository.findAll());
+            assertThat(stored).allSatisfy(p -> assertThat(ShardRouter.shardOf(p.getId())).isEqualTo(s));
+        }
+
+        // Les posts créés ici sont les plus récents : ils forment les deux premières pages
+        Page<Post> first = postService.getAllPosts(0, 6);
+        Page<Post> second = postService.getAllPosts(1, 6);
+        List<Post> merged = new ArrayList<>(first.getContent());
+        merged.addAll(second.getContent());
+        assertThat(merged).isSortedAccordingTo(NEWEST_FIRST);
+        assertThat(merged).extracting(Post::getId)
+                .containsExactlyInAnyOrderElementsOf(created.stream().map(Post::getId).toList());
+        assertThat(merged).allSatisfy(p -> assertThat(p.getAuthor().getUsername()).startsWith("sharded-"));
+        assertThat(first.getTotalElements()).isGreaterThanOrEqualTo(created.size());
+
+        PostCursorPageDto byAuthor = postService.getAuthorTimeline("sharded-1", null, 10);
+        assertThat(byAuthor.getContent()).hasSize(4)
+                .allSatisfy(p -> assertThat(p.getAuthorUsername()).isEqualTo("sharded-1"))
+                .isSortedAccordingTo(Comparator.comparing(PostResponseDto::getCreatedAt)
+                        .thenComparing(PostResponseDto::getId).reversed());
+        assertThat(byAuthor.getNextCursor()).isNull();
+
+        Post target = created.get(2);
+        PostResponseDto liked = postService.likePost(target.getId());
+        assertThat(liked.getLikesCount()).isEqualTo(1);
+        assertThat(liked.getAuthorUsername()).isEqualTo(target.getAuthor().getUsername());
+
+        Set<Long> ids = Set.of(created.get(0).getId(), created.get(1).getId(), target.getId());
+        List<Post> found = postService.getPostsByIds(ids);
+        assertThat(found).extracting(Post::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(found).filteredOn(p -> p.getId().equals(target.getId()))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getLikesCount()).isEqualTo(1));
+
+        // Lecture par ids via le cache : ordre demandé, like écrit dans le cache
+        List<Long> requested = List.of(target.getId(), created.get(1).getId(), -1L, created.get(0).getId());
+        assertThat(postService.getPosts(requested)).extracting(PostResponseDto::getId)
+                .containsExactly(target.getId(), created.get(1).getId(), created.get(0).getId());
+        postService.likePost(target.getId());
+        assertThat(postService.getPost(target.getId())).hasValueSatisfying(
+                p -> assertThat(p.getLikesCount()).isEqualTo(2));
+
+        // Créé par une autre instance : absent du cache, la réponse vient de la ligne relue
+        User author = authors.get(1);
+        Post uncached = shardRouter.inTransaction(shardRouter.shardForAuthor(author.getId()), status ->
+                postRepository.save(Post.builder().content("ailleurs").createdAt(LocalDateTime.now()).author(author).build()));
+        PostResponseDto likedUncached = postService.likePost(uncached.getId());
+        assertThat(likedUncached.getLikesCount()).isEqualTo(1);
+        assertThat(likedUncached.getContent()).isEqualTo("ailleurs");
+        assertThat(likedUncached.getAuthorUsername()).isEqualTo("sharded-1");
+    }
+}
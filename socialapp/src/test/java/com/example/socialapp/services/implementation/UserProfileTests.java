@@ -0,0 +1,120 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.dto.PostCursorPageDto;
+import com.example.socialapp.dto.PostDto;
+import com.example.socialapp.dto.PostResponseDto;
+import com.example.socialapp.dto.UserProfileDto;
+import com.example.socialapp.entity.Post;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.repository.UserStatsRepository;
+import com.example.socialapp.services.interfaces.IPostService;
+import com.example.socialapp.services.interfaces.IUserService;
+import com.example.socialapp.shard.ShardRouter;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserProfileTests {
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IPostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private UserStatsStore userStatsStore;
+
+    @Test
+    void countersFollowPostsAndLikes() {
+        User author = userRepository.save(User.builder().username("profile-author").password("x").build());
+        assertThat(userService.getProfile("profile-author")).hasValueSatisfying(profile -> {
+            assertThat(profile.getPostCount()).isZero();
+            assertThat(profile.getLikesReceived()).isZero();
+        });
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            posts.add(postService.createPost(PostDto.builder().content("profil " + i).build(), "profile-author"));
+        }
+        postService.likePost(posts.get(0).getId());
+        postService.likePost(posts.get(0).getId());
+        postService.likePost(posts.get(2).getId());
+
+        // Le profil mis en cache au début a été invalidé par chaque écriture
+        UserProfileDto profile = userService.getProfile("profile-author").orElseThrow();
+        assertThat(profile.getPostCount()).isEqualTo(3);
+        assertThat(profile.getLikesReceived()).isEqualTo(3);
+        assertThat(userStatsRepository.findById(author.getId())).hasValueSatisfying(
+                stats -> assertThat(stats.getPostCount()).isEqualTo(3));
+
+        // Ligne absente (auteur antérieur aux compteurs) : recalculée une fois puis maintenue
+        userStatsRepository.deleteById(author.getId());
+        userStatsStore.evict("profile-author");
+        assertThat(userService.getProfile("profile-author").orElseThrow().getLikesReceived()).isEqualTo(3);
+        postService.likePost(posts.get(1).getId());
+        assertThat(userService.getProfile("profile-author").orElseThrow().getLikesReceived()).isEqualTo(4);
+
+        assertThat(userService.getProfile("profile-nobody")).isEmpty();
+    }
+
+    @Test
+    void onlyTheStatsRowRaceIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger rollbacks = new AtomicInteger();
+        assertThatThrownBy(() -> userStatsStore.write(ShardRouter.PRIMARY_SHARD, status -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("autre contrainte");
+        }, rollbacks::incrementAndGet)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+        assertThat(rollbacks).hasValue(0);
+    }
+
+    @Test
+    void timelineIsPagedByCursor() {
+        userRepository.save(User.builder().username("profile-timeline").password("x").build());
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(postService.createPost(PostDto.builder().content("fil " + i).build(), "profile-timeline").getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PostCursorPageDto page = postService.getAuthorTimeline("profile-timeline", cursor, 2);
+            page.getContent().forEach(post -> assertThat(post.getAuthorUsername()).isEqualTo("profile-timeline"));
+            seen.addAll(page.getContent().stream().map(PostResponseDto::getId).toList());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(created.reversed());
+
+        assertThatThrownBy(() -> postService.getAuthorTimeline("profile-timeline", "pas-un-curseur", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> postService.getAuthorTimeline("profile-nobody", null, 2))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.socialapp.services.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.socialapp.dto.UserDto;
+import com.example.socialapp.entity.User;
+import com.example.socialapp.repository.UserRepository;
+import com.example.socialapp.services.interfaces.IUserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplTests {
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void registeredUsersAreSearchableAndCannotRegisterTwice() {
+        assertThat(userService.register(new UserDto("Typeahead-One", "secret"))).isTrue();
+        assertThat(userService.register(new UserDto("typeahead-two", "secret"))).isTrue();
+
+        assertThat(userService.searchUsernames("TYPEAHEAD", 10))
+                .containsExactly("Typeahead-One", "typeahead-two");
+        assertThatThrownBy(() -> userService.register(new UserDto("typeahead-two", "other")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void databaseConstraintCatchesNamesUnknownToTheIndex() {
+        // Inscrit sans passer par le service, comme depuis une autre instance
+        userRepository.save(User.builder().username("elsewhere").password("x").build());
+
+        assertThatThrownBy(() -> userService.register(new UserDto("elsewhere", "secret")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(userService.searchUsernames("elsew", 10)).containsExactly("elsewhere");
+    }
+
+    @Test
+    void otherConstraintViolationsAreNotReportedAsDuplicates() {
+        String tooLong = "phantom" + "x".repeat(300);
+
+        assertThatThrownBy(() -> userService.register(new UserDto(tooLong, "secret")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userService.searchUsernames("phantom", 10)).isEmpty();
+    }
+}
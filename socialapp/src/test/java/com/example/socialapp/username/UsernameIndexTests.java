@@ -0,0 +1,53 @@
+package com.example.socialapp.username;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UsernameIndexTests {
+
+    @Test
+    void searchesByPrefixIgnoringCase() {
+        UsernameIndex index = new UsernameIndex(null, 1_000, 0.01);
+        List.of("bob", "Bobby", "BOBO", "alice", "bo", "carl").forEach(index::add);
+
+        assertThat(index.search("bo", 10)).containsExactly("bo", "bob", "Bobby", "BOBO");
+        assertThat(index.search("BOB", 2)).containsExactly("bob", "Bobby");
+        assertThat(index.search("z", 10)).isEmpty();
+        assertThat(index.mightExist("carl")).isTrue();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void prefixSearchStaysWithinPrefixAndLimitOnALargeIndex() {
+        UsernameIndex index = new UsernameIndex(null, 50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            index.add("user" + Integer.toString(i, 36));
+        }
+
+        assertThat(index.search("userz9", 10)).hasSize(10)
+                .allSatisfy(name -> assertThat(name).startsWith("userz9"))
+                .isSorted();
+        assertThat(index.search("user", 5)).containsExactly("user0", "user1", "user10", "user100", "user1000");
+        assertThat(index.search("userzzzz", 10)).isEmpty();
+    }
+}